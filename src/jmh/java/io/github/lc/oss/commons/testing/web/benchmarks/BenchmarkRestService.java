@@ -0,0 +1,70 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.util.Map;
+
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+
+import io.github.lc.oss.commons.testing.web.ApacheRestTransport;
+import io.github.lc.oss.commons.testing.web.RestService;
+import io.github.lc.oss.commons.testing.web.TestRestTemplateErrorHandler;
+import io.github.lc.oss.commons.web.tokens.CsrfTokenManager;
+
+/**
+ * RestService configured the way an integration test suite would be (shared
+ * client, error handler), without a Spring context.
+ */
+class BenchmarkRestService extends RestService {
+    private final boolean streaming;
+    private final boolean csrfCache;
+    private final String transport;
+    private final CsrfTokenManager csrfTokenManager;
+    private final TestRestTemplateErrorHandler errorHandler = new TestRestTemplateErrorHandler();
+
+    BenchmarkRestService(boolean streaming, boolean csrfCache) {
+        this(streaming, csrfCache, ApacheRestTransport.NAME);
+    }
+
+    BenchmarkRestService(boolean streaming, boolean csrfCache, String transport) {
+        this.streaming = streaming;
+        this.csrfCache = csrfCache;
+        this.transport = transport;
+        /* the mock's own overhead is constant across releases */
+        this.csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        Mockito.when(this.csrfTokenManager.getHeaderId()).thenReturn(StubServer.CSRF_HEADER);
+    }
+
+    @Override
+    public boolean isSharedClient() {
+        return true;
+    }
+
+    @Override
+    public String getTransportName() {
+        return this.transport;
+    }
+
+    @Override
+    public boolean isStreamingJson() {
+        return this.streaming;
+    }
+
+    @Override
+    public boolean isCsrfCache() {
+        return this.csrfCache;
+    }
+
+    @Override
+    public TestRestTemplateErrorHandler getErrorHandler() {
+        return this.errorHandler;
+    }
+
+    @Override
+    protected CsrfTokenManager getCsrfTokenManager() {
+        return this.csrfTokenManager;
+    }
+
+    Map<String, String> csrfRetryHeaders(Map<String, String> headers, HttpHeaders challenge) {
+        return this.getCsrfRetryHeaders(headers, challenge);
+    }
+}
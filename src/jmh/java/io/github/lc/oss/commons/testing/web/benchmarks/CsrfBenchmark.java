@@ -0,0 +1,80 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import io.github.lc.oss.commons.testing.web.JsonObject;
+
+/**
+ * State changing calls that need a CSRF token. Without the CSRF cache every
+ * call pays for the 403 challenge, rebuilding the headers and the retry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CsrfBenchmark {
+    @Param({ "false", "true" })
+    private boolean csrfCache;
+
+    private StubServer server;
+    private BenchmarkRestService service;
+    private String url;
+    private Map<String, String> headers;
+    private HttpHeaders challenge;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = new StubServer(new byte[0]);
+        this.service = new BenchmarkRestService(false, this.csrfCache);
+        this.url = this.server.getUrl("/csrf");
+
+        this.headers = new HashMap<>();
+        this.headers.put(HttpHeaders.ACCEPT, "application/json");
+        this.headers.put(HttpHeaders.COOKIE, "theme=dark");
+
+        this.challenge = new HttpHeaders();
+        this.challenge.add(HttpHeaders.SET_COOKIE, StubServer.SESSION_COOKIE);
+        this.challenge.add(HttpHeaders.SET_COOKIE, StubServer.CSRF_COOKIE);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.service.destroy();
+        this.server.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<JsonObject> postJson() {
+        return this.service.callJson(HttpMethod.POST, this.url, this.headers, "{}", HttpStatus.OK);
+    }
+
+    /**
+     * Only rebuilding the retry headers from a challenge, no I/O.
+     */
+    @Benchmark
+    public Map<String, String> retryHeaders() {
+        return this.service.csrfRetryHeaders(this.headers, this.challenge);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.testing.web.JsonObject;
+import io.github.lc.oss.commons.testing.web.RestService;
+
+/**
+ * {@link RestService#fromJson(String)}, {@link RestService#readJson} and
+ * {@link RestService#toJson(Object)}, eager and lazy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+    @Param({ "1KB", "100KB", "1MB", "10MB" })
+    private String size;
+    @Param({ "false", "true" })
+    private boolean lazy;
+
+    private RestService service;
+    private String json;
+    private byte[] bytes;
+    private JsonObject object;
+
+    @Setup
+    public void setup() {
+        boolean lazyJson = this.lazy;
+        this.service = new RestService() {
+            @Override
+            public boolean isLazyJson() {
+                return lazyJson;
+            }
+        };
+        this.json = Payloads.json(this.size);
+        this.bytes = Payloads.bytes(this.size);
+        this.object = new RestService().fromJson(this.json);
+    }
+
+    @Benchmark
+    public JsonObject fromJson() {
+        return this.service.fromJson(this.json);
+    }
+
+    @Benchmark
+    public JsonObject readJson() {
+        return this.service.readJson(new ByteArrayInputStream(this.bytes));
+    }
+
+    /**
+     * Parse then read one deep value, the typical assertion pattern.
+     */
+    @Benchmark
+    public Object fromJsonAndRead() {
+        return this.service.fromJson(this.json).getArray("items").get(0);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return this.service.toJson(this.object);
+    }
+}
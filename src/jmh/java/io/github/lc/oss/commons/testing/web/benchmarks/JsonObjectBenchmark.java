@@ -0,0 +1,64 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.testing.web.JsonObject;
+
+/**
+ * {@link JsonObject#put(String, Object)} deep copies maps (and lists of maps),
+ * this measures copying a whole response tree plus path queries over it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonObjectBenchmark {
+    @Param({ "1KB", "100KB", "1MB", "10MB" })
+    private String size;
+
+    private Map<String, Object> tree;
+    private JsonObject object;
+
+    @Setup
+    public void setup() {
+        this.tree = Payloads.tree(this.size);
+        this.object = new JsonObject(this.tree);
+    }
+
+    @Benchmark
+    public JsonObject copy() {
+        return new JsonObject(this.tree);
+    }
+
+    @Benchmark
+    public Object put() {
+        JsonObject object = new JsonObject();
+        return object.put("items", this.tree.get("items"));
+    }
+
+    @Benchmark
+    public List<Object> select() {
+        return this.object.select("$.items[*].status");
+    }
+
+    @Benchmark
+    public Object selectFirst() {
+        return this.object.selectFirst("$.items[-1].audit.createdBy");
+    }
+}
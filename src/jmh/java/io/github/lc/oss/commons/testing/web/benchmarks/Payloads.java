@@ -0,0 +1,120 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Deterministic JSON payloads shaped like typical API responses (a page of
+ * items plus a messages array). The same size always produces the same bytes so
+ * results are comparable across runs and releases.
+ */
+final class Payloads {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long SEED = 20240101L;
+    private static final String[] STATUSES = { "Active", "Inactive", "Pending", "Deleted" };
+
+    private Payloads() {
+    }
+
+    /**
+     * Parses sizes such as <code>1KB</code>, <code>100KB</code> or
+     * <code>10MB</code>.
+     */
+    static int parseSize(String size) {
+        String s = size.trim().toUpperCase();
+        if (s.endsWith("MB")) {
+            return Integer.parseInt(s.substring(0, s.length() - 2)) * 1024 * 1024;
+        } else if (s.endsWith("KB")) {
+            return Integer.parseInt(s.substring(0, s.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(s);
+    }
+
+    /**
+     * Returns a JSON object of approximately (never less than) the given size as a
+     * plain map tree.
+     */
+    static Map<String, Object> tree(String size) {
+        int target = Payloads.parseSize(size);
+        Random random = new Random(Payloads.SEED);
+
+        List<Object> items = new ArrayList<>();
+        List<Object> messages = new ArrayList<>();
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("id", "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+        root.put("total", 0);
+        root.put("items", items);
+        root.put("messages", messages);
+
+        int length = Payloads.json(root).length();
+        int i = 0;
+        while (length < target) {
+            Map<String, Object> item = Payloads.item(i, random);
+            items.add(item);
+            length += Payloads.json(item).length() + 1;
+            if (i % 10 == 0) {
+                Map<String, Object> message = Payloads.message(i);
+                messages.add(message);
+                length += Payloads.json(message).length() + 1;
+            }
+            i++;
+        }
+        root.put("total", items.size());
+        return root;
+    }
+
+    static String json(String size) {
+        return Payloads.json(Payloads.tree(size));
+    }
+
+    static byte[] bytes(String size) {
+        return Payloads.json(size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String json(Object value) {
+        try {
+            return Payloads.MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Map<String, Object> item(int i, Random random) {
+        Map<String, Object> audit = new LinkedHashMap<>();
+        audit.put("createdBy", "user" + random.nextInt(100));
+        audit.put("created", 1700000000000L + random.nextInt(1000000));
+        audit.put("modifiedBy", null);
+
+        List<Object> tags = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            tags.add("tag-" + random.nextInt(50));
+        }
+
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", i);
+        item.put("name", "Item " + i);
+        item.put("description", "Description of item " + i + " with some additional free text");
+        item.put("status", Payloads.STATUSES[random.nextInt(Payloads.STATUSES.length)]);
+        item.put("price", random.nextInt(100000) / 100.0);
+        item.put("enabled", random.nextBoolean());
+        item.put("tags", tags);
+        item.put("audit", audit);
+        return item;
+    }
+
+    private static Map<String, Object> message(int i) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("category", "Application");
+        message.put("severity", i % 20 == 0 ? "Error" : "Warning");
+        message.put("number", i);
+        message.put("text", "Message number " + i);
+        return message;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.testing.web.AbstractWebTest;
+
+/**
+ * AbstractWebTest#prefixUrl, called for every request a test makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrefixUrlBenchmark extends AbstractWebTest {
+    private String prefix = "http://localhost:8080/app/";
+    private String relative = "api/v1/items/42";
+    private String rooted = "/api/v1/items/42";
+    private String absolute = "http://localhost:8080/app/api/v1/items/42";
+
+    @Benchmark
+    public String relative() {
+        return this.prefixUrl(this.prefix, this.relative);
+    }
+
+    @Benchmark
+    public String rooted() {
+        return this.prefixUrl(this.prefix, this.rooted);
+    }
+
+    @Benchmark
+    public String absolute() {
+        return this.prefixUrl(this.prefix, this.absolute);
+    }
+}
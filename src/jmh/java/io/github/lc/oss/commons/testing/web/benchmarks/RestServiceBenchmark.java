@@ -0,0 +1,68 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import io.github.lc.oss.commons.testing.web.JsonObject;
+
+/**
+ * {@link io.github.lc.oss.commons.testing.web.RestService#getJson} end to end
+ * against the local stub, buffered and streaming, over each transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RestServiceBenchmark {
+    @Param({ "1KB", "100KB", "1MB", "10MB" })
+    private String size;
+    @Param({ "false", "true" })
+    private boolean streaming;
+    @Param({ "apache", "jdk" })
+    private String transport;
+
+    private StubServer server;
+    private BenchmarkRestService service;
+    private String url;
+    private Map<String, String> headers;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = new StubServer(Payloads.bytes(this.size));
+        this.service = new BenchmarkRestService(this.streaming, false, this.transport);
+        this.url = this.server.getUrl("/json");
+        this.headers = new HashMap<>();
+        this.headers.put(HttpHeaders.ACCEPT, "application/json");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.service.destroy();
+        this.server.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<JsonObject> getJson() {
+        return this.service.getJson(this.url, this.headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.lc.oss.commons.testing.web.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP stub on the loopback interface so RestService can be
+ * benchmarked without any external network.
+ * <ul>
+ * <li><code>/json</code> - returns the payload</li>
+ * <li><code>/csrf</code> - responds 403 with a CSRF cookie unless the request
+ * has the CSRF header, then returns a small JSON object</li>
+ * </ul>
+ */
+final class StubServer implements AutoCloseable {
+    static final String CSRF_HEADER = "X-CSRF";
+    static final String CSRF_COOKIE = StubServer.CSRF_HEADER + "=token-value; Path=/";
+    static final String SESSION_COOKIE = "SESSION=abc123; Path=/; HttpOnly";
+
+    private static final byte[] SMALL = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubServer(byte[] payload) throws IOException {
+        this.executor = Executors.newFixedThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/json", exchange -> StubServer.respond(exchange, 200, payload));
+        this.server.createContext("/csrf", exchange -> {
+            if (exchange.getRequestHeaders().containsKey(StubServer.CSRF_HEADER)) {
+                StubServer.respond(exchange, 200, StubServer.SMALL);
+            } else {
+                exchange.getResponseHeaders().add("Set-Cookie", StubServer.SESSION_COOKIE);
+                exchange.getResponseHeaders().add("Set-Cookie", StubServer.CSRF_COOKIE);
+                StubServer.respond(exchange, 403, new byte[0]);
+            }
+        });
+        this.server.start();
+    }
+
+    String getUrl(String path) {
+        return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + path;
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.opentest4j.AssertionFailedError;
 
 import io.github.lc.oss.commons.l10n.L10N;
 import io.github.lc.oss.commons.l10n.UserLocale;
@@ -15,27 +28,119 @@ import io.github.lc.oss.commons.serialization.Message;
 import io.github.lc.oss.commons.testing.AbstractMockTest;
 
 public abstract class AbstractLocaleMockTest extends AbstractMockTest {
+    /**
+     * Identifies a message by category, severity and number.
+     */
+    private static class MessageKey {
+        private final Object category;
+        private final Object severity;
+        private final int number;
+        private final int hash;
+
+        MessageKey(Message message) {
+            this.category = message.getCategory();
+            this.severity = message.getSeverity();
+            this.number = message.getNumber();
+            this.hash = Objects.hash(this.category, this.severity, this.number);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey other = (MessageKey) obj;
+            return this.number == other.number && //
+                    Objects.equals(this.category, other.category) && //
+                    Objects.equals(this.severity, other.severity);
+        }
+    }
+
     @Mock
     private L10N l10n;
     @Mock
     private UserLocale userLocale;
+    /* id -> text for every expected message, served by a single stub */
+    private Map<String, String> expectedTexts = null;
+    /* expected ids that have not been looked up yet */
+    private final Set<String> unusedTexts = Collections.synchronizedSet(new LinkedHashSet<>());
+    private L10N stubbedL10n;
 
     protected void expectLocale() {
         Mockito.when(this.getUserLocale().getLocale()).thenReturn(Locale.ENGLISH);
     }
 
+    /**
+     * Expects the field variable's text to be looked up, served by the same stub
+     * as {@link #expectMessage(Message)}.
+     */
     protected void expectFieldVar(String id) {
-        Mockito.when(this.getL10n().getText(Locale.ENGLISH, id)).thenReturn(id + "-value");
+        this.getExpectedTexts().put(id, id + "-value");
+        this.unusedTexts.add(id);
     }
 
+    /**
+     * Expects the message's text to be looked up. All expected messages share one
+     * stub that resolves the id from a map, so the number of expected messages
+     * does not slow down each lookup. Looking up an id that wasn't expected fails
+     * the test, as does an expected id that is never looked up (see
+     * {@link #assertExpectedTextsUsed()}).
+     */
     protected void expectMessage(Message message) {
         String id = this.getMessageId(message);
+        this.getExpectedTexts().put(id, id + "-value");
+        this.unusedTexts.add(id);
+    }
+
+    /**
+     * Fails if an expected message or field variable was never looked up.
+     */
+    @AfterEach
+    public void assertExpectedTextsUsed() {
+        List<String> unused;
+        synchronized (this.unusedTexts) {
+            unused = new ArrayList<>(this.unusedTexts);
+            this.unusedTexts.clear();
+        }
+        if (!unused.isEmpty()) {
+            Assertions.fail("Expected L10N lookups were not made: " + String.join(", ", unused));
+        }
+    }
 
-        Mockito.when(this.getL10n().getText(//
-                ArgumentMatchers.eq(Locale.ENGLISH), //
-                ArgumentMatchers.eq(id), //
-                ArgumentMatchers.any(Variable[].class))). //
-                thenReturn(id + "-value");
+    /**
+     * Returns the id to text map backing the L10N stub, installing the stub on
+     * first use (or when the mock has been replaced).
+     */
+    private Map<String, String> getExpectedTexts() {
+        L10N mock = this.getL10n();
+        if (this.stubbedL10n != mock) {
+            /* each stub keeps its own map, an old mock must not see the new entries */
+            Map<String, String> texts = new HashMap<>();
+            Mockito.when(mock.getText(//
+                    ArgumentMatchers.eq(Locale.ENGLISH), //
+                    ArgumentMatchers.anyString(), //
+                    ArgumentMatchers.any(Variable[].class))). //
+                    thenAnswer(invocation -> {
+                        String id = invocation.getArgument(1);
+                        String text = texts.get(id);
+                        if (text == null) {
+                            Assertions.fail("Unexpected L10N lookup: " + id);
+                        }
+                        this.unusedTexts.remove(id);
+                        return text;
+                    });
+            this.expectedTexts = texts;
+            this.stubbedL10n = mock;
+        }
+        return this.expectedTexts;
     }
 
     protected void assertMessage(Message expected, Collection<Message> actual) {
@@ -53,27 +158,70 @@ public abstract class AbstractLocaleMockTest extends AbstractMockTest {
         Assertions.assertEquals(this.getMessageId(expected) + "-value", actual.getText());
     }
 
+    /**
+     * Asserts both collections contain the same messages (in any order). All
+     * differences (missing, unexpected and wrong text) are reported together.
+     */
     protected void assertMessages(Collection<Message> expected, Collection<Message> actual) {
         Assertions.assertNotNull(expected);
         Assertions.assertNotNull(actual);
-        Assertions.assertEquals(expected.size(), actual.size());
+
+        Map<MessageKey, Deque<Message>> index = new LinkedHashMap<>();
+        for (Message a : actual) {
+            index.computeIfAbsent(new MessageKey(a), k -> new ArrayDeque<>(1)).addLast(a);
+        }
+
+        List<String> missing = new ArrayList<>();
+        List<String> text = new ArrayList<>();
         for (Message e : expected) {
-            Message match = actual.stream(). //
-                    filter(a -> a.getCategory() == e.getCategory()). //
-                    filter(a -> a.getSeverity() == e.getSeverity()). //
-                    filter(a -> a.getNumber() == e.getNumber()). //
-                    findAny(). //
-                    orElse(null);
-            this.assertMessage(e, match);
+            Deque<Message> matches = index.get(new MessageKey(e));
+            Message match = matches == null ? null : matches.pollFirst();
+            if (match == null) {
+                missing.add(this.describe(e));
+                continue;
+            }
+
+            String expectedText = this.getMessageId(e) + "-value";
+            if (!expectedText.equals(match.getText())) {
+                text.add(String.format("%s expected '%s' but was '%s'", this.describe(e), expectedText,
+                        match.getText()));
+            }
+        }
+
+        List<String> unexpected = new ArrayList<>();
+        for (Deque<Message> remaining : index.values()) {
+            for (Message a : remaining) {
+                unexpected.add(this.describe(a));
+            }
         }
+
+        if (missing.isEmpty() && unexpected.isEmpty() && text.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Messages do not match (%d missing, %d unexpected, %d wrong text)", //
+                missing.size(), //
+                unexpected.size(), //
+                text.size()));
+        missing.forEach(m -> sb.append("\n  missing: ").append(m));
+        unexpected.forEach(m -> sb.append("\n  unexpected: ").append(m));
+        text.forEach(m -> sb.append("\n  text: ").append(m));
+        throw new AssertionFailedError(sb.toString());
+    }
+
+    private String describe(Message message) {
+        return String.format("%s.%s.%d", //
+                message.getCategory() == null ? null : message.getCategory().name(), //
+                message.getSeverity(), //
+                message.getNumber());
     }
 
     protected String getMessageId(Message message) {
-        return String.format(String.format( //
-                "messages.%s.%s.%d", //
+        return String.format("messages.%s.%s.%d", //
                 message.getCategory(), //
                 message.getSeverity(), //
-                message.getNumber()));
+                message.getNumber());
     }
 
     protected L10N getL10n() {
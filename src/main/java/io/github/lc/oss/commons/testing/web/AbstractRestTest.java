@@ -1,13 +1,20 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opentest4j.AssertionFailedError;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+@ExtendWith(LatencyBudgetExtension.class)
 public abstract class AbstractRestTest extends AbstractWebTest {
     protected <T> List<T> assertJsonArray(JsonObject object, String id, int length) {
         Assertions.assertNotNull(object, "Object cannot be null");
@@ -17,21 +24,76 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return array;
     }
 
+    /**
+     * Asserts the path matches at least one value and returns all matches.
+     */
+    protected <T> List<T> assertJsonPath(JsonObject object, String path) {
+        Assertions.assertNotNull(object, "Object cannot be null");
+        List<T> matches = JsonPath.compile(path).select(object);
+        Assertions.assertFalse(matches.isEmpty(), path + " not found");
+        return matches;
+    }
+
+    /**
+     * Asserts the path matches at least one value and that every match equals
+     * expected.
+     */
+    protected <T> List<T> assertJsonPath(JsonObject object, String path, Object expected) {
+        Assertions.assertNotNull(expected, "expected cannot be null");
+        Object e = expected instanceof Enum<?> ? ((Enum<?>) expected).name() : expected;
+        List<T> matches = this.assertJsonPath(object, path);
+        for (int i = 0; i < matches.size(); i++) {
+            Assertions.assertEquals(e, matches.get(i), String.format("%s (match %d)", path, i));
+        }
+        return matches;
+    }
+
+    protected void assertJsonPathCount(JsonObject object, String path, int count) {
+        Assertions.assertNotNull(object, "Object cannot be null");
+        Assertions.assertEquals(count, JsonPath.compile(path).count(object), path);
+    }
+
     protected void assertJsonMessage(JsonObject object, String category, String severity, int number) {
         this.assertJsonMessage(object, category, severity, number, null);
     }
 
     protected void assertJsonMessage(JsonObject object, String category, String severity, int number, String optionalText) {
+        JsonObject match = this.getJsonMessageIndex(object).find(category, severity, number, optionalText);
+        Assertions.assertNotNull(match, String.format("%s.%s.%d not found", category, severity, number));
+    }
+
+    /**
+     * Asserts all of the expected messages are present, reporting every missing
+     * message at once.
+     */
+    protected void assertJsonMessages(JsonObject object, JsonMessage... expected) {
+        List<JsonMessage> missing = this.getJsonMessageIndex(object).findMissing(expected);
+        if (!missing.isEmpty()) {
+            throw new AssertionFailedError(String.format("%d of %d messages not found: %s", //
+                    missing.size(), //
+                    expected.length, //
+                    missing.stream().map(JsonMessage::toString).collect(Collectors.joining(", "))));
+        }
+    }
+
+    /**
+     * Returns an index of the object's current messages.
+     */
+    protected JsonMessageIndex getJsonMessageIndex(JsonObject object) {
         Assertions.assertNotNull(object);
         List<JsonObject> messages = object.getArray("messages");
         Assertions.assertNotNull(messages);
-        JsonObject match = messages.stream().filter(m -> category.equals(m.getString("category")) && //
-                severity.equals(m.getString("severity")) && //
-                number == m.getInt("number") && //
-                (optionalText == null || optionalText.equals(m.getString("text")))). //
-                findAny(). //
-                orElse(null);
-        Assertions.assertNotNull(match, String.format("%s.%s.%d not found", category, severity, number));
+        return new JsonMessageIndex(messages);
+    }
+
+    protected void assertLoadErrorRate(LoadTestResult result, double maxErrorRate) {
+        Assertions.assertNotNull(result, "Result cannot be null");
+        Assertions.assertTrue(result.getErrorRate() <= maxErrorRate, () -> String.format( //
+                "Error rate %.2f%% exceeds %.2f%%: %s %s", //
+                result.getErrorRate() * 100, //
+                maxErrorRate * 100, //
+                result, //
+                result.getErrorSamples()));
     }
 
     @SuppressWarnings("unchecked")
@@ -79,14 +141,34 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return this.getRestService().basicAuthHeader(username, password);
     }
 
+    protected <T> T await(CompletableFuture<T> future) {
+        return this.getRestService().await(future);
+    }
+
+    protected <T> List<T> awaitAll(Collection<CompletableFuture<T>> futures) {
+        return this.getRestService().awaitAll(futures);
+    }
+
     protected <T> ResponseEntity<T> call(HttpMethod method, String url, Map<String, String> headers, Class<T> responseType, Object body) {
         return this.getRestService().call(method, this.getUrl(url), headers, responseType, body);
     }
 
+    protected <T> CompletableFuture<ResponseEntity<T>> callAsync(HttpMethod method, String url, Map<String, String> headers, Class<T> responseType, Object body) {
+        return this.getRestService().callAsync(method, this.getUrl(url), headers, responseType, body);
+    }
+
     protected ResponseEntity<JsonObject> callJson(HttpMethod method, String url, Map<String, String> headers, Object body, HttpStatus expectedStatus) {
         return this.getRestService().callJson(method, this.getUrl(url), headers, body, expectedStatus);
     }
 
+    protected ResponseEntity<JsonObject> callJson(HttpMethod method, String url, Map<String, String> headers, Object body, HttpStatus expectedStatus, Duration maxLatency) {
+        return this.getRestService().callJson(method, this.getUrl(url), headers, body, expectedStatus, maxLatency);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> callJsonAsync(HttpMethod method, String url, Map<String, String> headers, Object body, HttpStatus expectedStatus) {
+        return this.getRestService().callJsonAsync(method, this.getUrl(url), headers, body, expectedStatus);
+    }
+
     protected JsonObject fromJson(String json) {
         return this.getRestService().fromJson(json);
     }
@@ -107,6 +189,26 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return this.getRestService().getJson(this.getUrl(url), headers, expectedStatus);
     }
 
+    protected ResponseEntity<JsonObject> getJson(String url, Duration maxLatency) {
+        return this.getRestService().getJson(this.getUrl(url), maxLatency);
+    }
+
+    protected ResponseEntity<JsonObject> getJson(String url, Map<String, String> headers, HttpStatus expectedStatus, Duration maxLatency) {
+        return this.getRestService().getJson(this.getUrl(url), headers, expectedStatus, maxLatency);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url) {
+        return this.getRestService().getJsonAsync(this.getUrl(url));
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url, HttpStatus expectedStatus) {
+        return this.getRestService().getJsonAsync(this.getUrl(url), expectedStatus);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url, Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.getRestService().getJsonAsync(this.getUrl(url), headers, expectedStatus);
+    }
+
     protected ResponseEntity<JsonObject> postJson(String url, Object body) {
         return this.getRestService().postJson(this.getUrl(url), body);
     }
@@ -119,6 +221,18 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return this.getRestService().postJson(this.getUrl(url), body, headers, expectedStatus);
     }
 
+    protected ResponseEntity<JsonObject> postJson(String url, Object body, Map<String, String> headers, HttpStatus expectedStatus, Duration maxLatency) {
+        return this.getRestService().postJson(this.getUrl(url), body, headers, expectedStatus, maxLatency);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> postJsonAsync(String url, Object body) {
+        return this.getRestService().postJsonAsync(this.getUrl(url), body);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> postJsonAsync(String url, Object body, Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.getRestService().postJsonAsync(this.getUrl(url), body, headers, expectedStatus);
+    }
+
     protected ResponseEntity<JsonObject> putJson(String url, Object body) {
         return this.getRestService().putJson(this.getUrl(url), body);
     }
@@ -131,6 +245,14 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return this.getRestService().putJson(this.getUrl(url), body, headers, expectedStatus);
     }
 
+    protected CompletableFuture<ResponseEntity<JsonObject>> putJsonAsync(String url, Object body) {
+        return this.getRestService().putJsonAsync(this.getUrl(url), body);
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> putJsonAsync(String url, Object body, Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.getRestService().putJsonAsync(this.getUrl(url), body, headers, expectedStatus);
+    }
+
     public ResponseEntity<JsonObject> deleteJson(String url) {
         return this.getRestService().deleteJson(this.getUrl(url));
     }
@@ -143,6 +265,30 @@ public abstract class AbstractRestTest extends AbstractWebTest {
         return this.getRestService().deleteJson(this.getUrl(url), headers, expectedStatus);
     }
 
+    protected CompletableFuture<ResponseEntity<JsonObject>> deleteJsonAsync(String url) {
+        return this.getRestService().deleteJsonAsync(this.getUrl(url));
+    }
+
+    protected CompletableFuture<ResponseEntity<JsonObject>> deleteJsonAsync(String url, Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.getRestService().deleteJsonAsync(this.getUrl(url), headers, expectedStatus);
+    }
+
+    /**
+     * Runs the scenario concurrently on the given number of virtual users, each
+     * user running the scenario the given number of times.
+     */
+    protected LoadTestResult runLoad(int users, int iterationsPerUser, Runnable scenario) {
+        return new LoadTest(users, iterationsPerUser, null, scenario).run();
+    }
+
+    /**
+     * Runs the scenario concurrently on the given number of virtual users, each
+     * user repeating the scenario until the duration has elapsed.
+     */
+    protected LoadTestResult runLoad(int users, Duration duration, Runnable scenario) {
+        return new LoadTest(users, 0, duration, scenario).run();
+    }
+
     protected String toJson(Object object) {
         return this.getRestService().toJson(object);
     }
@@ -1,11 +1,17 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -18,16 +24,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.json.Json;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.support.ui.ExpectedCondition;
@@ -40,10 +51,22 @@ import org.springframework.beans.factory.annotation.Value;
 import io.github.lc.oss.commons.serialization.Message;
 import io.github.lc.oss.commons.util.IoTools;
 
-@ExtendWith(SeleniumAfterEach.class)
+@ExtendWith({ SeleniumAfterEach.class, SeleniumAfterAll.class })
 public abstract class AbstractSeleniumTest extends AbstractWebTest {
     private static final int DEFAULT_MAX_WAIT_SECONDS = 15;
     private static final int DEFAULT_RETRY_WAIT_SECONDS = 5;
+    private static final long WAIT_RETRY_PAUSE_MILLIS = 50;
+    /* WebDriver's default, in-page waits that need longer raise it */
+    private static final long DEFAULT_SCRIPT_TIMEOUT_MILLIS = 30000;
+    /* lets the in-page timeout answer before the driver gives up on the script */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 5000;
+    /* errors raised when the document an async script runs in goes away */
+    private static final List<String> NAVIGATION_ERRORS = Collections.unmodifiableList(Arrays.asList( //
+            "document unloaded", //
+            "execution context was destroyed", //
+            "inspected target navigated or closed"));
+    private static final String RESET_STORAGE_TYPES = "local_storage,indexeddb,websql,cache_storage,"
+            + "service_workers,file_systems";
 
     @Value("${testing.chromium.acceptInsecureCerts:false}")
     private boolean chromiumAcceptInsecureCerts;
@@ -55,6 +78,12 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     private String chromiumPath;
     @Value("#{pathNormalizer.dir('${testing.chromium.screenshot.path:}')}")
     private String screenShotPath;
+    @Value("${testing.chromium.screenshot.async:false}")
+    private boolean asyncScreenShots;
+    @Value("${testing.chromium.screenshot.format:png}")
+    private String screenShotFormat;
+    @Value("${testing.chromium.screenshot.maxWidth:0}")
+    private int screenShotMaxWidth;
     @Value("${testing.chromium.headless:true}")
     private boolean headless;
     @Value("${testing.chromium.windowsize:1280,720}")
@@ -63,10 +92,33 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     private int retryCount;
     @Value("${testing.chromium.sandbox:true}")
     private boolean sandbox;
+    @Value("${testing.chromium.session.reuse:none}")
+    private String sessionReuse;
+    @Value("${testing.chromium.pool.size:0}")
+    private int poolSize;
+    @Value("${testing.chromium.pool.ports:}")
+    private String poolPorts;
+    @Value("${testing.chromium.navigate.idle:false}")
+    private boolean idleDetection;
+    @Value("${testing.chromium.navigate.quietPeriod:100}")
+    private int idleQuietPeriod;
+    @Value("${testing.chromium.wait.push:false}")
+    private boolean pushWaits;
+    @Value("${testing.chromium.console.capture:false}")
+    private boolean consoleCaptureEnabled;
+    @Value("${testing.chromium.console.failFast:false}")
+    private boolean consoleFailFast;
+    @Value("${testing.chromium.console.capacity:1000}")
+    private int consoleCapacity;
     @Value("${application.ui.logging.prefix:}")
     private String loggingPrefix;
     protected Set<String> defaultExpectedErrors = null;
+    private Set<String> matcherSource = null;
+    private ExpectedErrorMatcher expectedErrorMatcher = null;
     private WebDriver driver;
+    private ConsoleCapture consoleCapture;
+    private WebDriver scriptTimeoutDriver = null;
+    private long scriptTimeoutMillis = 0;
 
     protected Set<String> getExpectedBrowserErrors() {
         if (this.defaultExpectedErrors == null) {
@@ -82,6 +134,21 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
         return this.defaultExpectedErrors;
     }
 
+    /**
+     * Compiled form of {@link #getExpectedBrowserErrors()}, rebuilt only when a
+     * different set is returned. Entries prefixed with
+     * {@value ExpectedErrorMatcher#REGEX_PREFIX} are treated as regular
+     * expressions.
+     */
+    protected ExpectedErrorMatcher getExpectedErrorMatcher() {
+        Set<String> expected = this.getExpectedBrowserErrors();
+        if (this.expectedErrorMatcher == null || this.matcherSource != expected) {
+            this.expectedErrorMatcher = new ExpectedErrorMatcher(expected);
+            this.matcherSource = expected;
+        }
+        return this.expectedErrorMatcher;
+    }
+
     protected ChromeOptions getChromiumOptions() {
         ChromeOptions opts = new ChromeOptions();
         if (this.headless) {
@@ -113,24 +180,266 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
 
     @BeforeEach
     public void launchChromium() {
-        this.driver = new ChromeDriver(new ChromeDriverService.Builder().usingPort(this.chromiumDriverPort).build(),
-                this.getChromiumOptions());
+        if (this.isPooled()) {
+            this.driver = this.getDriverPool().lease(this::createDriver);
+        } else {
+            ChromiumSessions.Scope scope = this.getSessionReuse();
+            if (scope == ChromiumSessions.Scope.NONE) {
+                this.driver = this.createDriver();
+            } else {
+                this.driver = ChromiumSessions.acquire(scope, this.getClass(), this.getDriverPoolOptions(),
+                        this::createDriver);
+            }
+        }
+        this.startConsoleCapture();
+    }
+
+    /**
+     * When enabled console messages and uncaught exceptions are collected as they
+     * happen instead of pulling the browser log at the end of the test. Browsers
+     * without DevTools support fall back to the browser log.
+     */
+    protected void startConsoleCapture() {
+        this.consoleCapture = null;
+        if (!this.consoleCaptureEnabled) {
+            return;
+        }
+
+        this.consoleCapture = ConsoleCapture.attach(this.getDriver(), this.consoleCapacity);
+        if (this.consoleCapture != null) {
+            /*
+             * the predicates run on the DevTools thread, resolve everything here so it
+             * never touches this test's (unsynchronized) state
+             */
+            String prefix = this.loggingPrefix;
+            ExpectedErrorMatcher matcher = this.getExpectedErrorMatcher();
+            this.consoleCapture.configure( //
+                    e -> e.contains(prefix), //
+                    matcher::matches, //
+                    prefix + " [ERROR]", //
+                    this.consoleFailFast);
+        }
+    }
+
+    protected ConsoleCapture getConsoleCapture() {
+        return this.consoleCapture;
+    }
+
+    /**
+     * Fails the test if console fail fast is enabled and the application logged an
+     * error. Called by the wait helpers.
+     */
+    protected void assertNoConsoleFailure() {
+        ConsoleCapture capture = this.getConsoleCapture();
+        if (capture != null) {
+            capture.assertNoFailure();
+        }
+    }
+
+    protected WebDriver createDriver() {
+        return this.createDriver(this.chromiumDriverPort);
+    }
+
+    /**
+     * @param port the port for the driver service, 0 for any free port
+     */
+    protected WebDriver createDriver(int port) {
+        ChromeDriverService.Builder service = new ChromeDriverService.Builder();
+        if (port > 0) {
+            service.usingPort(port);
+        } else {
+            service.usingAnyFreePort();
+        }
+        WebDriver driver = new ChromeDriver(service.build(), this.getChromiumOptions());
+        this.prepareDriver(driver);
+        return driver;
+    }
+
+    /**
+     * Called once for every newly launched browser. When idle detection is enabled
+     * the idle tracker is registered to run before any page script so that
+     * requests made while the page loads are tracked as well.
+     */
+    protected void prepareDriver(WebDriver driver) {
+        if (this.isIdleDetection() && driver instanceof ChromiumDriver) {
+            ((ChromiumDriver) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", BrowserScripts.IDLE_TRACKER));
+        }
+    }
+
+    /**
+     * Called after each test instead of quitting the browser when sessions are
+     * reused. If the browser can't be reset it is quit, so a new one will be
+     * launched for the next test, and the test fails since a reset that keeps
+     * failing would otherwise silently turn reuse off.
+     */
+    protected void releaseDriver() {
+        if (this.isPooled()) {
+            ChromiumDriverPool pool = this.getDriverPool();
+            WebDriver driver = this.getDriver();
+            try {
+                this.resetSession();
+                pool.release(driver);
+            } catch (WebDriverException ex) {
+                pool.discard(driver);
+                throw AbstractSeleniumTest.resetFailed(ex);
+            }
+            return;
+        }
+
+        try {
+            this.resetSession();
+        } catch (WebDriverException ex) {
+            ChromiumSessions.evict(this.getSessionReuse(), this.getClass(), this.getDriverPoolOptions());
+            throw AbstractSeleniumTest.resetFailed(ex);
+        }
+    }
+
+    private static AssertionFailedError resetFailed(WebDriverException ex) {
+        return new AssertionFailedError("Unable to reset the reused browser, it was quit: " + ex.getMessage(), ex);
+    }
+
+    /**
+     * Returns a reused browser to a clean state: extra windows are closed,
+     * cookies and local/session storage are cleared and the remaining window is
+     * pointed at about:blank.
+     */
+    protected void resetSession() {
+        WebDriver driver = this.getDriver();
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i));
+            driver.close();
+        }
+        if (!handles.isEmpty()) {
+            driver.switchTo().window(handles.get(0));
+        }
+
+        Object origin = ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { /* opaque origin */ } "
+                        + "return window.location.origin;");
+        if (driver instanceof ChromiumDriver) {
+            ChromiumDriver chromium = (ChromiumDriver) driver;
+            /* clears cookies for all domains, not just the current page's */
+            chromium.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            /*
+             * the script only reaches the current origin, storage left behind by every
+             * other origin visited in this window is cleared here
+             */
+            Set<String> origins = new LinkedHashSet<>();
+            if (origin instanceof String && !"null".equals(origin)) {
+                origins.add((String) origin);
+            }
+            origins.addAll(this.getVisitedOrigins(chromium));
+            for (String o : origins) {
+                this.clearStorage(chromium, o);
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.get("about:blank");
+    }
+
+    /*
+     * Origins (http/https only) of the window's navigation history
+     */
+    private Set<String> getVisitedOrigins(ChromiumDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        Map<String, Object> history = driver.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap());
+        Object entries = history == null ? null : history.get("entries");
+        if (!(entries instanceof List)) {
+            return origins;
+        }
+
+        for (Object entry : (List<?>) entries) {
+            Object url = entry instanceof Map ? ((Map<?, ?>) entry).get("url") : null;
+            if (!(url instanceof String)) {
+                continue;
+            }
+
+            try {
+                URI uri = new URI((String) url);
+                String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+                int defaultPort = scheme.equals("http") ? 80 : scheme.equals("https") ? 443 : -1;
+                if (defaultPort < 0 || uri.getHost() == null) {
+                    continue;
+                }
+                int port = uri.getPort();
+                origins.add(scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT)
+                        + (port < 0 || port == defaultPort ? "" : ":" + port));
+            } catch (URISyntaxException ex) {
+                /* not something storage can be cleared for */
+            }
+        }
+        return origins;
+    }
+
+    private void clearStorage(ChromiumDriver driver, String origin) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("origin", origin);
+        params.put("storageTypes", AbstractSeleniumTest.RESET_STORAGE_TYPES);
+        driver.executeCdpCommand("Storage.clearDataForOrigin", params);
+    }
+
+    protected ChromiumSessions.Scope getSessionReuse() {
+        return ChromiumSessions.Scope.parse(this.sessionReuse);
+    }
+
+    protected boolean isSessionReused() {
+        return this.isPooled() || this.getSessionReuse() != ChromiumSessions.Scope.NONE;
+    }
+
+    /**
+     * When enabled (<code>testing.chromium.pool.size</code> greater than 0) each
+     * test leases a browser from a JVM wide pool instead of launching its own,
+     * allowing tests to run in parallel. Takes precedence over session reuse.
+     */
+    protected boolean isPooled() {
+        return this.poolSize > 0;
+    }
+
+    protected ChromiumDriverPool getDriverPool() {
+        return ChromiumDriverPool.get(this.poolSize, this.poolPorts, this.getDriverPoolOptions());
+    }
+
+    /**
+     * Identifies how this test's browsers are launched, pooled and JVM scoped
+     * reused browsers are only shared between tests returning the same value.
+     * Defaults to the Chromium options, override alongside
+     * {@link #createDriver(int)}.
+     */
+    protected String getDriverPoolOptions() {
+        /* JSON since some capabilities (i.e. logging preferences) lack a toString */
+        return new Json().toJson(this.getChromiumOptions().asMap());
     }
 
     @AfterEach
     public void checkLogs(TestInfo testInfo) {
-        String appLog = this.getBrowserLogsAsString(e -> e.contains(this.loggingPrefix));
-
-        String browserLog = this
-                .getBrowserLogsAsString(e -> this.getExpectedBrowserErrors().stream().noneMatch(s -> e.contains(s)));
+        String appLog;
+        String browserLog;
+        boolean appErrors;
+        ConsoleCapture capture = this.getConsoleCapture();
+        if (capture == null) {
+            appLog = this.getBrowserLogsAsString(e -> e.contains(this.loggingPrefix));
+            ExpectedErrorMatcher matcher = this.getExpectedErrorMatcher();
+            browserLog = this.getBrowserLogsAsString(e -> !matcher.matches(e));
+            appErrors = appLog.contains(this.loggingPrefix + " [ERROR]");
+        } else {
+            appLog = String.join("\n", capture.getApplicationMessages());
+            List<String> unexpected = capture.getUnexpectedMessages();
+            browserLog = String.join("\n", unexpected);
+            if (capture.getUnexpectedCount() > unexpected.size()) {
+                browserLog += "\n... and " + (capture.getUnexpectedCount() - unexpected.size()) + " more";
+            }
+            appErrors = capture.getApplicationErrorCount() > 0;
+        }
 
         if (!appLog.trim().equals("")) {
             System.err.println("### Application Browser Console Log");
             System.err.println(appLog);
             System.err.println("### End Application Browser Console Log");
-            Assertions.assertFalse(appLog.contains(this.loggingPrefix + " [ERROR]"),
-                    "Application errors detected during " + testInfo.getDisplayName());
         }
+        Assertions.assertFalse(appErrors, "Application errors detected during " + testInfo.getDisplayName());
 
         Assertions.assertTrue(browserLog.trim().equals(""),
                 "Browser errors detected during " + testInfo.getDisplayName() + ":\n" + browserLog);
@@ -185,15 +494,30 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     }
 
     protected void assertTextContent(String id, String text) {
+        if (this.isPushWaits()) {
+            this.waitForText(id, "text", text, false);
+            return;
+        }
+
         WebElement e = this.assertById(id);
         this.assertTextContent(e, text);
     }
 
     protected void assertTextContent(WebElement element, String text) {
+        if (this.isPushWaits()) {
+            this.waitForText(element, "text", text, false);
+            return;
+        }
+
         this.waitUntil(() -> text.equals(this.getTextContent(element)));
     }
 
     protected void assertTextContentContains(WebElement element, String contains) {
+        if (this.isPushWaits()) {
+            this.waitForText(element, "text", contains, true);
+            return;
+        }
+
         this.waitUntil(() -> {
             String text = this.getTextContent(element);
             if (text == null) {
@@ -204,15 +528,30 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     }
 
     protected void assertTextValue(String id, String text) {
+        if (this.isPushWaits()) {
+            this.waitForText(id, "value", text, false);
+            return;
+        }
+
         WebElement e = this.assertById(id);
         this.assertTextValue(e, text);
     }
 
     protected void assertTextValue(WebElement element, String text) {
+        if (this.isPushWaits()) {
+            this.waitForText(element, "value", text, false);
+            return;
+        }
+
         this.waitUntil(() -> text.equals(this.getTextValue(element)));
     }
 
     protected void assertTextValueContains(WebElement element, String contains) {
+        if (this.isPushWaits()) {
+            this.waitForText(element, "value", contains, true);
+            return;
+        }
+
         this.waitUntil(() -> {
             String text = this.getTextValue(element);
             if (text == null) {
@@ -282,6 +621,10 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     }
 
     protected WebElement findByCssSelector(String selector, boolean clickable) {
+        if (this.isPushWaits()) {
+            return this.waitForElement("css", selector, clickable);
+        }
+
         if (clickable) {
             return this.waitUntil(ExpectedConditions.elementToBeClickable(By.cssSelector(selector)));
         } else {
@@ -294,6 +637,10 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     }
 
     protected WebElement findById(String id, boolean clickable) {
+        if (this.isPushWaits()) {
+            return this.waitForElement("id", id, clickable);
+        }
+
         if (clickable) {
             return this.waitUntil(ExpectedConditions.elementToBeClickable(By.id(id)));
         } else {
@@ -301,6 +648,120 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
         }
     }
 
+    /**
+     * Waits for an element inside the page, the browser re-checks the condition on
+     * every DOM change and answers as soon as it is met. This is a single
+     * round trip instead of polling over the WebDriver protocol.
+     *
+     * @param lookup "id" or "css"
+     */
+    protected WebElement waitForElement(String lookup, String value, boolean clickable) {
+        return this.waitForElement(lookup, value, clickable, this.getSeleniumDefaultWaitLimit(), this.getRetryCount());
+    }
+
+    protected WebElement waitForElement(String lookup, String value, boolean clickable, int timeout, int retry) {
+        this.assertNoConsoleFailure();
+        Object result = this.executeAsyncWait(BrowserScripts.WAIT_FOR_ELEMENT, timeout * 1000, lookup, value,
+                clickable);
+        if (result instanceof WebElement) {
+            return (WebElement) result;
+        }
+
+        if (retry > 0) {
+            return this.waitForElement(lookup, value, clickable, this.getSeleniumDefaultRetryWaitLimit(), --retry);
+        }
+        throw new TimeoutException(String.format("Waited %d seconds for %s element by %s: %s", timeout,
+                clickable ? "clickable" : "present", lookup, value));
+    }
+
+    /**
+     * Waits in-page for the text content (property "text") or value (property
+     * "value") of an element to equal or contain the expected text, the browser
+     * re-checks on every DOM change or input and answers in one round trip.
+     *
+     * @param target the element or the id of the element, an id is re-resolved on
+     *               every check
+     */
+    protected void waitForText(Object target, String property, String expected, boolean contains) {
+        this.assertNoConsoleFailure();
+        int timeout = this.getSeleniumDefaultWaitLimit();
+        Object result = this.executeAsyncWait(BrowserScripts.WAIT_FOR_TEXT, timeout * 1000, target, property,
+                expected, contains);
+        List<?> outcome = result instanceof List ? (List<?>) result : Collections.emptyList();
+        if (outcome.size() == 2 && Boolean.TRUE.equals(outcome.get(0))) {
+            return;
+        }
+
+        Object actual = outcome.size() == 2 ? outcome.get(1) : null;
+        throw new AssertionFailedError(String.format("Waited %d seconds for %s %s '%s' but was '%s'", timeout,
+                property, contains ? "containing" : "equal to", expected, actual), expected, actual);
+    }
+
+    /*
+     * Runs an in-page wait script with the timeout (ms) as its last argument. If
+     * the page navigates (the document unloads) or re-renders while waiting the
+     * wait is re-issued in the new document for the remaining time. Returns null
+     * if the time runs out that way. Any other script error is thrown as is.
+     */
+    private Object executeAsyncWait(String script, int timeout, Object... args) {
+        this.ensureScriptTimeout(timeout);
+        long deadline = System.currentTimeMillis() + timeout;
+        Object[] all = Arrays.copyOf(args, args.length + 1);
+        all[args.length] = timeout;
+        while (true) {
+            try {
+                return ((JavascriptExecutor) this.getDriver()).executeAsyncScript(script, all);
+            } catch (JavascriptException | StaleElementReferenceException ex) {
+                if (ex instanceof StaleElementReferenceException
+                        && Arrays.stream(args).anyMatch(a -> a instanceof WebElement)) {
+                    /* the element we were given is gone, waiting again won't bring it back */
+                    throw ex;
+                }
+                if (ex instanceof JavascriptException && !AbstractSeleniumTest.isNavigation(ex)) {
+                    /* i.e. an invalid selector, waiting won't fix it */
+                    throw ex;
+                }
+
+                try {
+                    /* give the next document a moment to load */
+                    Thread.sleep(AbstractSeleniumTest.WAIT_RETRY_PAUSE_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                all[args.length] = (int) remaining;
+            }
+        }
+    }
+
+    private static boolean isNavigation(WebDriverException ex) {
+        String message = ex.getMessage() == null ? "" : ex.getMessage().toLowerCase(Locale.ROOT);
+        return AbstractSeleniumTest.NAVIGATION_ERRORS.stream().anyMatch(message::contains);
+    }
+
+    /*
+     * Raises the driver's script timeout when a wait needs more than it allows,
+     * otherwise the driver aborts the script before the in-page timeout answers.
+     * Tracked per driver to avoid a round trip on every wait.
+     */
+    private void ensureScriptTimeout(long timeout) {
+        WebDriver driver = this.getDriver();
+        if (this.scriptTimeoutDriver != driver) {
+            this.scriptTimeoutDriver = driver;
+            this.scriptTimeoutMillis = AbstractSeleniumTest.DEFAULT_SCRIPT_TIMEOUT_MILLIS;
+        }
+
+        long needed = timeout + AbstractSeleniumTest.SCRIPT_TIMEOUT_MARGIN_MILLIS;
+        if (needed > this.scriptTimeoutMillis) {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(needed));
+            this.scriptTimeoutMillis = needed;
+        }
+    }
+
     protected WebElement findParent(WebElement child) {
         return child.findElement(By.xpath("./.."));
     }
@@ -318,6 +779,22 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
         return rows;
     }
 
+    protected TableSnapshot snapshotTable(String id) {
+        return this.snapshotTable(this.assertById(id), false);
+    }
+
+    /**
+     * Captures the text and attributes of all body rows in one round trip, use
+     * this instead of {@link #findTableRows(WebElement)} when asserting over large
+     * tables.
+     *
+     * @param withElements also return the cell elements (i.e. for clicking)
+     */
+    protected TableSnapshot snapshotTable(WebElement table, boolean withElements) {
+        return TableSnapshot.fromScript(((JavascriptExecutor) this.getDriver())
+                .executeScript(BrowserScripts.TABLE_SNAPSHOT, table, withElements));
+    }
+
     protected void focusById(String id) {
         WebElement element = this.assertById(id);
         this.focus(element);
@@ -371,7 +848,24 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
         }
 
         byte[] img = ((TakesScreenshot) this.getDriver()).getScreenshotAs(OutputType.BYTES);
-        IoTools.writeToFile(img, this.getScreenShotPath() + name + ".png");
+        if (this.isAsyncScreenShots()) {
+            this.getScreenShotWriter().submit(img, this.getScreenShotPath() + name);
+        } else {
+            IoTools.writeToFile(img, this.getScreenShotPath() + name + ".png");
+        }
+    }
+
+    /**
+     * When enabled screenshots are written (and optionally downscaled/re-encoded
+     * per <code>testing.chromium.screenshot.maxWidth</code> and
+     * <code>testing.chromium.screenshot.format</code>) on a background thread.
+     */
+    protected boolean isAsyncScreenShots() {
+        return this.asyncScreenShots;
+    }
+
+    protected ScreenShotWriter getScreenShotWriter() {
+        return ScreenShotWriter.get(this.screenShotFormat, this.screenShotMaxWidth);
     }
 
     protected void scrollTo(WebElement element) {
@@ -413,10 +907,30 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
 
     protected void waitForNavigate(String url) {
         this.waitUntil(ExpectedConditions.urlToBe(this.getUrl(url)));
-        this.waitFor(1000);
+        if (this.isIdleDetection()) {
+            this.waitForIdle();
+        } else {
+            this.waitFor(1000);
+        }
         this.waitForScript();
     }
 
+    protected void waitForIdle() {
+        this.waitForIdle(this.getSeleniumDefaultWaitLimit() * 1000);
+    }
+
+    /**
+     * Waits until the page is loaded, has no fetch/XHR requests in flight and the
+     * DOM hasn't changed for the configured quiet period.
+     */
+    protected void waitForIdle(int timeout) {
+        Object result = ((JavascriptExecutor) this.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_IDLE,
+                this.getIdleQuietPeriod(), timeout);
+        if (!Boolean.TRUE.equals(result)) {
+            throw new AssertionFailedError("Page did not become idle within " + timeout + "ms");
+        }
+    }
+
     protected void waitForScript() {
         this.waitForScript(this.getSeleniumDefaultWaitLimit() * 1000);
     }
@@ -442,7 +956,13 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
     protected <T> T waitUntil(ExpectedCondition<T> condition, int timeout, int retry) {
         try {
             WebDriverWait wait = new WebDriverWait(this.getDriver(), Duration.ofSeconds(timeout));
-            return wait.until(condition);
+            if (this.getConsoleCapture() == null) {
+                return wait.until(condition);
+            }
+            return wait.until(d -> {
+                this.assertNoConsoleFailure();
+                return condition.apply(d);
+            });
         } catch (TimeoutException ex) {
             if (retry > 0) {
                 return this.waitUntil(condition, this.getSeleniumDefaultRetryWaitLimit(), --retry);
@@ -463,6 +983,24 @@ public abstract class AbstractSeleniumTest extends AbstractWebTest {
         return this.driver;
     }
 
+    protected boolean isIdleDetection() {
+        return this.idleDetection;
+    }
+
+    /**
+     * When enabled findById/findByCssSelector (and the helpers built on them) and
+     * the assertText* helpers wait in-page via
+     * {@link #waitForElement(String, String, boolean)} and
+     * {@link #waitForText(Object, String, String, boolean)} instead of polling.
+     */
+    protected boolean isPushWaits() {
+        return this.pushWaits;
+    }
+
+    protected int getIdleQuietPeriod() {
+        return this.idleQuietPeriod;
+    }
+
     protected int getRetryCount() {
         return this.retryCount;
     }
@@ -0,0 +1,59 @@
+package io.github.lc.oss.commons.testing.web;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Apache HttpClient 5 (classic, blocking) transport with a pooled connection
+ * manager. This is the default transport.
+ */
+public class ApacheRestTransport implements RestTransport {
+    public static final String NAME = "apache";
+
+    @Override
+    public ClientHttpRequestFactory createRequestFactory(RestService service) {
+        /*
+         * Long standing Java bug - PATCH isn't supported by default :(
+         */
+        ConnectionConfig connConfig = this.createConnectionConfig(service);
+
+        SocketConfig socketConfig = SocketConfig.custom(). //
+                setSoTimeout(Timeout.ofMilliseconds(service.getTimeout())). //
+                build();
+
+        PoolingHttpClientConnectionManager connManager = PoolingHttpClientConnectionManagerBuilder.create(). //
+                setDefaultSocketConfig(socketConfig). //
+                setDefaultConnectionConfig(connConfig). //
+                setMaxConnPerRoute(service.getMaxConnectionsPerRoute()). //
+                setMaxConnTotal(service.getMaxConnectionsTotal()). //
+                build();
+
+        RequestConfig requestConfig = RequestConfig.custom(). //
+                setResponseTimeout(Timeout.ofMilliseconds(service.getTimeout())). //
+                build();
+
+        CloseableHttpClient client = HttpClientBuilder.create(). //
+                setDefaultRequestConfig(requestConfig). //
+                setConnectionManager(connManager). //
+                disableRedirectHandling(). //
+                /* Cookies are the test's responsibility, a shared client must not leak them */
+                disableCookieManagement(). //
+                build();
+
+        return new HttpComponentsClientHttpRequestFactory(client);
+    }
+
+    ConnectionConfig createConnectionConfig(RestService service) {
+        return ConnectionConfig.custom(). //
+                setConnectTimeout(Timeout.ofMilliseconds(service.getTimeout())). //
+                build();
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.lc.oss.commons.testing.web;
+
+/**
+ * JavaScript snippets executed in the browser under test.
+ */
+final class BrowserScripts {
+    /**
+     * Installs (once per page) a tracker that counts in-flight fetch/XHR requests
+     * and records the time of the last DOM mutation or network activity.
+     */
+    static final String IDLE_TRACKER = "" + //
+            "(function () {\n" + //
+            "  if (window.__lcIdle) { return; }\n" + //
+            "  var s = window.__lcIdle = { pending: 0, last: Date.now() };\n" + //
+            "  var touch = function () { s.last = Date.now(); };\n" + //
+            "  var done = function () { s.pending = Math.max(0, s.pending - 1); touch(); };\n" + //
+            "  if (window.fetch) {\n" + //
+            "    var f = window.fetch;\n" + //
+            "    window.fetch = function () {\n" + //
+            "      s.pending++; touch();\n" + //
+            "      try {\n" + //
+            "        return f.apply(this, arguments).then(function (r) { done(); return r; },\n" + //
+            "            function (e) { done(); throw e; });\n" + //
+            "      } catch (e) { done(); throw e; }\n" + //
+            "    };\n" + //
+            "  }\n" + //
+            "  if (window.XMLHttpRequest) {\n" + //
+            "    var send = XMLHttpRequest.prototype.send;\n" + //
+            "    XMLHttpRequest.prototype.send = function () {\n" + //
+            "      s.pending++; touch();\n" + //
+            "      this.addEventListener('loadend', done);\n" + //
+            "      try { return send.apply(this, arguments); } catch (e) { done(); throw e; }\n" + //
+            "    };\n" + //
+            "  }\n" + //
+            "  new MutationObserver(touch).observe(document,\n" + //
+            "      { childList: true, subtree: true, attributes: true, characterData: true });\n" + //
+            "})();\n";
+
+    /**
+     * Async script, arguments: quiet period (ms), timeout (ms). Calls back with
+     * true once the document is loaded, no requests are in flight and nothing
+     * changed for the quiet period, or false on timeout.
+     */
+    static final String WAIT_FOR_IDLE = "" + //
+            "var quiet = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];\n" + //
+            BrowserScripts.IDLE_TRACKER + //
+            "var s = window.__lcIdle, start = Date.now();\n" + //
+            "(function check() {\n" + //
+            "  var now = Date.now();\n" + //
+            "  if (document.readyState === 'complete' && s.pending === 0 && now - s.last >= quiet) {\n" + //
+            "    callback(true);\n" + //
+            "  } else if (now - start >= timeout) {\n" + //
+            "    callback(false);\n" + //
+            "  } else {\n" + //
+            "    setTimeout(check, 25);\n" + //
+            "  }\n" + //
+            "})();\n";
+
+    /**
+     * Async script, arguments: lookup ("id" or "css"), id/selector, clickable,
+     * timeout (ms). Calls back with the element as soon as it is present (and
+     * visible and enabled if clickable) or null on timeout. Instead of polling,
+     * the DOM is re-checked whenever it changes. Visibility can change without a
+     * DOM change (transitions, layout, scrolling) so while the element is present
+     * but not yet clickable it is also re-checked at a low rate.
+     */
+    static final String WAIT_FOR_ELEMENT = "" + //
+            "var lookup = arguments[0], value = arguments[1], clickable = arguments[2], timeout = arguments[3];\n" + //
+            "var callback = arguments[arguments.length - 1], observer = null, timer = null;\n" + //
+            "var done = false, candidate = false, pending = false;\n" + //
+            "var find = function () {\n" + //
+            "  var el = lookup === 'id' ? document.getElementById(value) : document.querySelector(value);\n" + //
+            "  candidate = !!el;\n" + //
+            "  if (el && clickable) {\n" + //
+            "    var style = window.getComputedStyle(el);\n" + //
+            "    var visible = style.visibility !== 'hidden' && style.display !== 'none'\n" + //
+            "        && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);\n" + //
+            "    if (!visible || el.disabled) { return null; }\n" + //
+            "  }\n" + //
+            "  return el;\n" + //
+            "};\n" + //
+            "var finish = function (el) {\n" + //
+            "  done = true;\n" + //
+            "  if (observer) { observer.disconnect(); }\n" + //
+            "  if (timer) { clearTimeout(timer); }\n" + //
+            "  callback(el);\n" + //
+            "};\n" + //
+            "var check = function () {\n" + //
+            "  if (done) { return; }\n" + //
+            "  var el = find();\n" + //
+            "  if (el) {\n" + //
+            "    finish(el);\n" + //
+            "  } else if (candidate && !pending) {\n" + //
+            "    /* present but not clickable yet, keep (only) one re-check pending */\n" + //
+            "    pending = true;\n" + //
+            "    setTimeout(function () { pending = false; check(); }, 50);\n" + //
+            "  }\n" + //
+            "};\n" + //
+            "var found = find();\n" + //
+            "if (found) {\n" + //
+            "  callback(found);\n" + //
+            "} else {\n" + //
+            "  observer = new MutationObserver(check);\n" + //
+            "  observer.observe(document, { childList: true, subtree: true, attributes: true });\n" + //
+            "  timer = setTimeout(function () { finish(null); }, timeout);\n" + //
+            "  check();\n" + //
+            "}\n";
+
+    /**
+     * Async script, arguments: element or element id, "text" or "value", expected
+     * text, contains, timeout (ms). An id is re-resolved on every check so
+     * re-rendered elements don't go stale. Calls back with [matched, actual] as
+     * soon as the text matches or on timeout.
+     */
+    static final String WAIT_FOR_TEXT = "" + //
+            "var target = arguments[0], property = arguments[1], expected = arguments[2], contains = arguments[3];\n" + //
+            "var timeout = arguments[4], callback = arguments[arguments.length - 1];\n" + //
+            "var start = Date.now(), done = false, actual = null, observer = null, timer = null, pending = false;\n" + //
+            "var read = function () {\n" + //
+            "  var el = typeof target === 'string' ? document.getElementById(target) : target;\n" + //
+            "  if (!el) { return null; }\n" + //
+            "  return property === 'value' ? el.value : (el.innerText || '').trim();\n" + //
+            "};\n" + //
+            "var check = function () {\n" + //
+            "  if (done) { return; }\n" + //
+            "  actual = read();\n" + //
+            "  var matched = actual !== null && actual !== undefined\n" + //
+            "      && (contains ? actual.indexOf(expected) >= 0 : actual === expected);\n" + //
+            "  if (matched || Date.now() - start >= timeout) {\n" + //
+            "    done = true;\n" + //
+            "    observer.disconnect();\n" + //
+            "    document.removeEventListener('input', check, true);\n" + //
+            "    clearTimeout(timer);\n" + //
+            "    callback([matched, actual === undefined ? null : actual]);\n" + //
+            "  } else if (!pending) {\n" + //
+            "    /* values set from script don't fire events, keep (only) one re-check per frame pending */\n" + //
+            "    pending = true;\n" + //
+            "    setTimeout(function () { pending = false; check(); }, 16);\n" + //
+            "  }\n" + //
+            "};\n" + //
+            "observer = new MutationObserver(check);\n" + //
+            "observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });\n" + //
+            "document.addEventListener('input', check, true);\n" + //
+            "timer = setTimeout(check, timeout);\n" + //
+            "check();\n";
+
+    /**
+     * Arguments: table, include elements. Returns the body rows with the
+     * attributes, text (and optionally element) of every cell.
+     */
+    static final String TABLE_SNAPSHOT = "" + //
+            "var table = arguments[0], withElements = arguments[1], rows = [];\n" + //
+            "var attrs = function (el) {\n" + //
+            "  var a = {};\n" + //
+            "  for (var i = 0; i < el.attributes.length; i++) { a[el.attributes[i].name] = el.attributes[i].value; }\n" + //
+            "  return a;\n" + //
+            "};\n" + //
+            "var trs = table.querySelectorAll('tbody > tr');\n" + //
+            "for (var r = 0; r < trs.length; r++) {\n" + //
+            "  var cells = [], tds = trs[r].getElementsByTagName('td');\n" + //
+            "  for (var c = 0; c < tds.length; c++) {\n" + //
+            "    var cell = { text: (tds[c].innerText || '').trim(), attributes: attrs(tds[c]) };\n" + //
+            "    if (withElements) { cell.element = tds[c]; }\n" + //
+            "    cells.push(cell);\n" + //
+            "  }\n" + //
+            "  rows.push({ attributes: attrs(trs[r]), cells: cells });\n" + //
+            "}\n" + //
+            "return rows;\n";
+
+    private BrowserScripts() {
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Fixed size pool of browsers, each backed by its own driver service on a
+ * distinct port, so that Selenium tests can run with JUnit's parallel
+ * execution. Tests lease a browser before each test and return it afterwards,
+ * blocking while all browsers are in use.
+ */
+public class ChromiumDriverPool {
+    private static final Map<String, ChromiumDriverPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the JVM wide pool for the given configuration, creating it on first
+     * use.
+     *
+     * @param size  maximum number of concurrent browsers
+     * @param ports comma separated ports and/or port ranges (i.e.
+     *              <code>12000-12007</code>), blank to use any free port
+     */
+    public static ChromiumDriverPool get(int size, String ports) {
+        return ChromiumDriverPool.get(size, ports, null);
+    }
+
+    /**
+     * Returns the JVM wide pool for the given configuration, creating it on first
+     * use. Browsers are only shared between callers passing the same options so a
+     * test never leases a browser launched with someone else's options. Pools with
+     * different options don't coordinate ports, give each its own port range.
+     *
+     * @param size    maximum number of concurrent browsers
+     * @param ports   comma separated ports and/or port ranges (i.e.
+     *                <code>12000-12007</code>), blank to use any free port
+     * @param options fingerprint of how the browsers are launched (i.e. the
+     *                browser options)
+     */
+    public static ChromiumDriverPool get(int size, String ports, String options) {
+        String key = size + "|" + (ports == null ? "" : ports.trim()) + "|" + (options == null ? "" : options);
+        return ChromiumDriverPool.POOLS.computeIfAbsent(key, k -> {
+            ChromiumDriverPool pool = new ChromiumDriverPool(size, ChromiumDriverPool.parsePorts(ports));
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "ChromiumDriverPool-shutdown"));
+            return pool;
+        });
+    }
+
+    static List<Integer> parsePorts(String ports) {
+        Set<Integer> parsed = new LinkedHashSet<>();
+        if (ports == null || ports.trim().equals("")) {
+            return new ArrayList<>(parsed);
+        }
+
+        for (String part : ports.split(",")) {
+            String value = part.trim();
+            if (value.equals("")) {
+                continue;
+            }
+
+            try {
+                int dash = value.indexOf('-');
+                if (dash < 0) {
+                    parsed.add(Integer.parseInt(value));
+                } else {
+                    int from = Integer.parseInt(value.substring(0, dash).trim());
+                    int to = Integer.parseInt(value.substring(dash + 1).trim());
+                    Assertions.assertTrue(from <= to, "Invalid port range: " + value);
+                    for (int port = from; port <= to; port++) {
+                        parsed.add(port);
+                    }
+                }
+            } catch (NumberFormatException ex) {
+                throw new AssertionFailedError("Invalid port: " + value, ex);
+            }
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    private final int size;
+    private final Semaphore permits;
+    private final boolean anyPort;
+    private final Deque<Integer> freePorts = new ConcurrentLinkedDeque<>();
+    private final Deque<WebDriver> idle = new ConcurrentLinkedDeque<>();
+    private final Map<WebDriver, Integer> leased = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Integer> all = new ConcurrentHashMap<>();
+
+    ChromiumDriverPool(int size, List<Integer> ports) {
+        Assertions.assertTrue(size > 0, "Pool size must be greater than 0");
+        this.anyPort = ports == null || ports.isEmpty();
+        if (!this.anyPort) {
+            Assertions.assertTrue(ports.size() >= size,
+                    String.format("Pool size %d exceeds the number of configured ports (%d)", size, ports.size()));
+            this.freePorts.addAll(ports);
+        }
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Number of browsers currently launched (leased or idle).
+     */
+    public int getLaunched() {
+        return this.all.size();
+    }
+
+    /**
+     * Borrows a browser, launching one via the factory if no idle browser is
+     * available. The factory receives the port for the driver service, 0 meaning
+     * any free port. Blocks until a browser is available.
+     */
+    public WebDriver lease(IntFunction<WebDriver> factory) {
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AssertionFailedError("Interrupted while waiting for a browser", ex);
+        }
+
+        try {
+            WebDriver driver = this.idle.pollFirst();
+            if (driver == null) {
+                int port = this.anyPort ? 0 : this.freePorts.removeFirst();
+                try {
+                    driver = factory.apply(port);
+                } catch (RuntimeException ex) {
+                    this.freePort(port);
+                    throw ex;
+                }
+                this.all.put(driver, port);
+            }
+            this.leased.put(driver, this.all.get(driver));
+            return driver;
+        } catch (RuntimeException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a leased browser to the pool for the next test.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || this.leased.remove(driver) == null) {
+            return;
+        }
+
+        this.idle.addFirst(driver);
+        this.permits.release();
+    }
+
+    /**
+     * Quits a leased browser that is no longer usable, freeing its slot (and port)
+     * for a new browser.
+     */
+    public void discard(WebDriver driver) {
+        if (driver == null || this.leased.remove(driver) == null) {
+            return;
+        }
+
+        this.freePort(this.all.remove(driver));
+        ChromiumDriverPool.quit(driver);
+        this.permits.release();
+    }
+
+    /**
+     * Quits all idle browsers. Browsers that are still leased are quit as well.
+     */
+    public void close() {
+        List<WebDriver> drivers = new ArrayList<>(this.all.keySet());
+        for (WebDriver driver : drivers) {
+            Integer port = this.all.remove(driver);
+            this.idle.remove(driver);
+            if (this.leased.remove(driver) != null) {
+                this.permits.release();
+            }
+            this.freePort(port);
+            ChromiumDriverPool.quit(driver);
+        }
+    }
+
+    private void freePort(Integer port) {
+        if (!this.anyPort && port != null) {
+            this.freePorts.addLast(port);
+        }
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ex) {
+            /* already gone, nothing else to clean up */
+        }
+    }
+}
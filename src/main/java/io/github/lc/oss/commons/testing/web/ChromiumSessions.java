@@ -0,0 +1,118 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Registry of browser sessions that are shared between tests instead of being
+ * launched and quit for every test.
+ */
+public class ChromiumSessions {
+    public enum Scope {
+        /** A new browser for every test (default) */
+        NONE,
+        /** One browser per test class, quit after the last test of the class */
+        CLASS,
+        /** One browser for the entire JVM, quit on shutdown */
+        JVM;
+
+        public static Scope parse(String value) {
+            if (value == null || value.trim().equals("")) {
+                return NONE;
+            }
+            return Scope.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String JVM_KEY = "jvm|";
+    private static final Map<Object, WebDriver> SESSIONS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean SHUTDOWN_HOOK = new AtomicBoolean(false);
+
+    private ChromiumSessions() {
+    }
+
+    /**
+     * Returns the shared session for the scope, launching it via the factory if
+     * needed.
+     */
+    public static WebDriver acquire(Scope scope, Class<?> testClass, Supplier<WebDriver> factory) {
+        return ChromiumSessions.acquire(scope, testClass, null, factory);
+    }
+
+    /**
+     * Returns the shared session for the scope, launching it via the factory if
+     * needed. JVM scoped sessions are only shared between callers passing the same
+     * options so a test never gets a browser launched with someone else's options.
+     *
+     * @param options fingerprint of how the browser is launched (i.e. the browser
+     *                options)
+     */
+    public static WebDriver acquire(Scope scope, Class<?> testClass, String options, Supplier<WebDriver> factory) {
+        if (ChromiumSessions.SHUTDOWN_HOOK.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ChromiumSessions::closeAll, "ChromiumSessions-shutdown"));
+        }
+        return ChromiumSessions.SESSIONS.computeIfAbsent(ChromiumSessions.key(scope, testClass, options),
+                k -> factory.get());
+    }
+
+    /**
+     * Quits and forgets the shared session for the scope, i.e. after it was left
+     * in an unusable state.
+     */
+    public static void evict(Scope scope, Class<?> testClass) {
+        ChromiumSessions.evict(scope, testClass, null);
+    }
+
+    public static void evict(Scope scope, Class<?> testClass, String options) {
+        ChromiumSessions.quit(ChromiumSessions.SESSIONS.remove(ChromiumSessions.key(scope, testClass, options)));
+    }
+
+    /**
+     * Quits the class scoped session for the test class (if any).
+     */
+    public static void close(Class<?> testClass) {
+        ChromiumSessions.quit(ChromiumSessions.SESSIONS.remove(testClass));
+    }
+
+    public static void closeAll() {
+        List<Object> keys = new ArrayList<>(ChromiumSessions.SESSIONS.keySet());
+        for (Object key : keys) {
+            ChromiumSessions.quit(ChromiumSessions.SESSIONS.remove(key));
+        }
+    }
+
+    static boolean isActive(Scope scope, Class<?> testClass) {
+        return ChromiumSessions.isActive(scope, testClass, null);
+    }
+
+    static boolean isActive(Scope scope, Class<?> testClass, String options) {
+        return ChromiumSessions.SESSIONS.containsKey(ChromiumSessions.key(scope, testClass, options));
+    }
+
+    private static Object key(Scope scope, Class<?> testClass, String options) {
+        if (scope == Scope.JVM) {
+            return ChromiumSessions.JVM_KEY + (options == null ? "" : options);
+        }
+        return testClass;
+    }
+
+    private static void quit(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        try {
+            driver.quit();
+        } catch (WebDriverException ex) {
+            /* already gone, nothing else to clean up */
+        }
+    }
+}
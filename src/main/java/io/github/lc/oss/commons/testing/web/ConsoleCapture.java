@@ -0,0 +1,251 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Live capture of browser console messages and uncaught exceptions via the
+ * DevTools protocol. Every entry is classified once as it arrives and kept in a
+ * bounded buffer until the end of the test.
+ */
+public class ConsoleCapture {
+    private static final Map<WebDriver, ConsoleCapture> ATTACHED = new WeakHashMap<>();
+
+    public static class Entry {
+        private final String level;
+        private final String message;
+        private final boolean application;
+        private final boolean expected;
+
+        Entry(String level, String message, boolean application, boolean expected) {
+            this.level = level;
+            this.message = message;
+            this.application = application;
+            this.expected = expected;
+        }
+
+        public String getLevel() {
+            return this.level;
+        }
+
+        public String getMessage() {
+            return this.message;
+        }
+
+        /**
+         * True if the entry was logged by the application (contains the logging
+         * prefix).
+         */
+        public boolean isApplication() {
+            return this.application;
+        }
+
+        /**
+         * True if the entry matches one of the expected browser errors.
+         */
+        public boolean isExpected() {
+            return this.expected;
+        }
+    }
+
+    /**
+     * Starts capturing console output for the browser, returns the existing capture
+     * if the browser is already being captured (i.e. reused sessions) or null if
+     * the browser does not support DevTools.
+     */
+    public static ConsoleCapture attach(WebDriver driver, int capacity) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+
+        synchronized (ConsoleCapture.ATTACHED) {
+            ConsoleCapture capture = ConsoleCapture.ATTACHED.get(driver);
+            if (capture != null) {
+                return capture;
+            }
+
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            if (!devTools.isPresent()) {
+                return null;
+            }
+
+            capture = new ConsoleCapture(capacity);
+            capture.listen(devTools.get());
+            ConsoleCapture.ATTACHED.put(driver, capture);
+            return capture;
+        }
+    }
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private Predicate<String> application = m -> false;
+    private Predicate<String> expected = m -> false;
+    private String errorMarker = null;
+    private boolean failFast = false;
+    private int applicationCount = 0;
+    private int applicationErrorCount = 0;
+    private int unexpectedCount = 0;
+    private volatile String failure = null;
+
+    ConsoleCapture(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Sets how entries are classified and clears everything captured so far.
+     *
+     * @param errorMarker application entries containing this are errors
+     * @param failFast    remember the first application error so the test can
+     *                    abort early (see {@link #assertNoFailure()})
+     */
+    public synchronized void configure(Predicate<String> application, Predicate<String> expected,
+            String errorMarker, boolean failFast) {
+        this.application = application;
+        this.expected = expected;
+        this.errorMarker = errorMarker;
+        this.failFast = failFast;
+        this.clear();
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.applicationCount = 0;
+        this.applicationErrorCount = 0;
+        this.unexpectedCount = 0;
+        this.failure = null;
+    }
+
+    synchronized void add(String level, String message) {
+        String text = message == null ? "" : message;
+        boolean app = this.application.test(text);
+        boolean exp = this.expected.test(text);
+        if (app) {
+            this.applicationCount++;
+            if (this.errorMarker != null && text.contains(this.errorMarker)) {
+                this.applicationErrorCount++;
+                if (this.failFast && this.failure == null) {
+                    this.failure = text;
+                }
+            }
+        }
+        if (!exp) {
+            this.unexpectedCount++;
+        }
+
+        if (this.entries.size() >= this.capacity) {
+            this.entries.removeFirst();
+        }
+        this.entries.addLast(new Entry(level, text, app, exp));
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(this.entries));
+    }
+
+    public synchronized List<String> getApplicationMessages() {
+        return this.entries.stream().filter(Entry::isApplication).map(Entry::getMessage)
+                .collect(Collectors.toList());
+    }
+
+    public synchronized List<String> getUnexpectedMessages() {
+        return this.entries.stream().filter(e -> !e.isExpected()).map(Entry::getMessage)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Total application entries seen, including ones no longer buffered.
+     */
+    public synchronized int getApplicationCount() {
+        return this.applicationCount;
+    }
+
+    /**
+     * Total application errors seen, including ones no longer buffered.
+     */
+    public synchronized int getApplicationErrorCount() {
+        return this.applicationErrorCount;
+    }
+
+    /**
+     * Total unexpected entries seen, including ones no longer buffered.
+     */
+    public synchronized int getUnexpectedCount() {
+        return this.unexpectedCount;
+    }
+
+    /**
+     * Throws if fail fast is enabled and an application error was logged.
+     */
+    public void assertNoFailure() {
+        String f = this.failure;
+        if (f != null) {
+            throw new AssertionFailedError("Application error logged: " + f);
+        }
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(new Event<>("Runtime.consoleAPICalled", ConsoleCapture::read),
+                p -> this.add(ConsoleCapture.string(p.get("type")), ConsoleCapture.consoleText(p)));
+        devTools.addListener(new Event<>("Runtime.exceptionThrown", ConsoleCapture::read),
+                p -> this.add("error", ConsoleCapture.exceptionText(p)));
+        devTools.addListener(new Event<>("Log.entryAdded", ConsoleCapture::read), p -> {
+            Map<String, Object> entry = ConsoleCapture.map(p.get("entry"));
+            this.add(ConsoleCapture.string(entry.get("level")), ConsoleCapture.string(entry.get("text")));
+        });
+        devTools.send(new Command<Void>("Runtime.enable", Collections.emptyMap()));
+        devTools.send(new Command<Void>("Log.enable", Collections.emptyMap()));
+    }
+
+    private static Map<String, Object> read(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    static String consoleText(Map<String, Object> params) {
+        Object args = params.get("args");
+        if (!(args instanceof List)) {
+            return "";
+        }
+
+        List<String> parts = new ArrayList<>();
+        for (Object arg : (List<?>) args) {
+            Map<String, Object> a = ConsoleCapture.map(arg);
+            Object value = a.containsKey("value") ? a.get("value") : a.get("description");
+            parts.add(value == null ? ConsoleCapture.string(a.get("type")) : value.toString());
+        }
+        return String.join(" ", parts);
+    }
+
+    static String exceptionText(Map<String, Object> params) {
+        Map<String, Object> details = ConsoleCapture.map(params.get("exceptionDetails"));
+        Map<String, Object> exception = ConsoleCapture.map(details.get("exception"));
+        Object description = exception.get("description");
+        return description == null ? ConsoleCapture.string(details.get("text")) : description.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
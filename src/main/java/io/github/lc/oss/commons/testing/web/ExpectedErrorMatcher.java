@@ -0,0 +1,81 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Matches log messages against a set of expected errors using a single
+ * pre-compiled pattern. Entries match anywhere in the message; plain entries
+ * are literals while entries starting with {@value #REGEX_PREFIX} are regular
+ * expressions. An empty (or all null) set of entries matches nothing.
+ */
+public class ExpectedErrorMatcher {
+    public static final String REGEX_PREFIX = "regex:";
+    /*
+     * Back references (\1, \k<name>) and named groups depend on the group
+     * numbering/names of their own entry, such entries are matched on their own
+     * instead of as part of the combined pattern
+     */
+    private static final Pattern GROUP_DEPENDENT = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]");
+
+    /* null when there is nothing to combine */
+    private final Pattern pattern;
+    private final List<Pattern> separate = new ArrayList<>();
+
+    public ExpectedErrorMatcher(Collection<String> expected) {
+        StringBuilder combined = new StringBuilder();
+        if (expected != null) {
+            for (String entry : expected) {
+                if (entry == null) {
+                    continue;
+                }
+
+                String regex = ExpectedErrorMatcher.toRegex(entry);
+                if (ExpectedErrorMatcher.GROUP_DEPENDENT.matcher(regex).find()) {
+                    this.separate.add(Pattern.compile(regex));
+                } else {
+                    if (combined.length() > 0) {
+                        combined.append('|');
+                    }
+                    combined.append("(?:").append(regex).append(')');
+                }
+            }
+        }
+        this.pattern = combined.length() == 0 ? null : Pattern.compile(combined.toString());
+    }
+
+    private static String toRegex(String entry) {
+        if (!entry.startsWith(ExpectedErrorMatcher.REGEX_PREFIX)) {
+            return Pattern.quote(entry);
+        }
+
+        String regex = entry.substring(ExpectedErrorMatcher.REGEX_PREFIX.length());
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException ex) {
+            throw new AssertionFailedError("Invalid expected error pattern: " + regex, ex);
+        }
+        return regex;
+    }
+
+    public boolean matches(String message) {
+        if (message == null) {
+            return false;
+        }
+
+        if (this.pattern != null && this.pattern.matcher(message).find()) {
+            return true;
+        }
+        for (Pattern p : this.separate) {
+            if (p.matcher(message).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
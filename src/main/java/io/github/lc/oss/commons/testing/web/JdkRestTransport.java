@@ -0,0 +1,251 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * <code>java.net.http.HttpClient</code> transport. Prefers HTTP/2, so concurrent
+ * calls to the same server are multiplexed over a single connection the way
+ * browsers do. Each {@link RestService} gets a single client (and selector
+ * thread), even when {@code testing.rest.client.shared} is disabled, and its
+ * asynchronous methods are sent with <code>HttpClient.sendAsync</code>. The
+ * connection limits don't apply to this transport.
+ */
+public class JdkRestTransport implements RestTransport {
+    public static final String NAME = "jdk";
+    /* managed by the client itself, setting them is rejected */
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(
+            Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+
+    private static void close(HttpClient client) throws Exception {
+        /* HttpClient is only closeable from Java 21 on */
+        if (client instanceof AutoCloseable) {
+            ((AutoCloseable) client).close();
+        }
+    }
+
+    /* weak keys, services that are never destroyed don't keep their client alive */
+    private final Map<RestService, HttpClient> clients = new WeakHashMap<>();
+
+    @Override
+    public ClientHttpRequestFactory createRequestFactory(RestService service) {
+        Duration timeout = Duration.ofMillis(service.getTimeout());
+        HttpClient client;
+        synchronized (this.clients) {
+            client = this.clients.get(service);
+            if (client == null) {
+                client = HttpClient.newBuilder(). //
+                        version(HttpClient.Version.HTTP_2). //
+                        connectTimeout(timeout). //
+                        followRedirects(HttpClient.Redirect.NEVER). //
+                        build();
+                this.clients.put(service, client);
+            }
+        }
+        return new RequestFactory(this, service, client, timeout);
+    }
+
+    /**
+     * Closes the client kept for the service, the next request factory created
+     * for it starts a new one.
+     */
+    public void release(RestService service) throws Exception {
+        HttpClient client;
+        synchronized (this.clients) {
+            client = this.clients.remove(service);
+        }
+        JdkRestTransport.close(client);
+    }
+
+    private void release(RestService service, HttpClient client) throws Exception {
+        synchronized (this.clients) {
+            if (this.clients.get(service) == client) {
+                this.clients.remove(service);
+            }
+        }
+        JdkRestTransport.close(client);
+    }
+
+    static class RequestFactory implements ClientHttpRequestFactory, DisposableBean {
+        private final JdkRestTransport transport;
+        private final RestService service;
+        private final HttpClient client;
+        private final Duration timeout;
+
+        RequestFactory(JdkRestTransport transport, RestService service, HttpClient client, Duration timeout) {
+            this.transport = transport;
+            this.service = service;
+            this.client = client;
+            this.timeout = timeout;
+        }
+
+        HttpClient getClient() {
+            return this.client;
+        }
+
+        @Override
+        public Request createRequest(URI uri, HttpMethod httpMethod) {
+            return new Request(this.client, this.timeout, uri, httpMethod);
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            this.transport.release(this.service, this.client);
+        }
+    }
+
+    static class Request extends AbstractClientHttpRequest {
+        private final HttpClient client;
+        private final Duration timeout;
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        Request(HttpClient client, Duration timeout, URI uri, HttpMethod method) {
+            this.client = client;
+            this.timeout = timeout;
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return this.method;
+        }
+
+        @Override
+        public URI getURI() {
+            return this.uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return this.body;
+        }
+
+        int getBodySize() {
+            return this.body.size();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            try {
+                HttpResponse<InputStream> response = this.client.send(this.build(headers),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                return new Response(response, response.body());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for " + this.uri);
+            }
+        }
+
+        /**
+         * Sends the request with <code>HttpClient.sendAsync</code>. The future
+         * completes once the whole body has been received, so reading the response
+         * never blocks. The listener is called when the response is closed.
+         */
+        CompletableFuture<ClientHttpResponse> executeAsync(TimedResponse.Listener listener) {
+            HttpRequest request = this.build(this.getHeaders());
+            AtomicLong firstByte = new AtomicLong();
+            long start = System.nanoTime();
+            return this.client.sendAsync(request, info -> {
+                firstByte.set(System.nanoTime());
+                return HttpResponse.BodySubscribers.ofByteArray();
+            }).thenApply(response -> new TimedResponse(
+                    new Response(response, new ByteArrayInputStream(response.body())), start, firstByte.get(),
+                    listener));
+        }
+
+        private HttpRequest build(HttpHeaders headers) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(this.uri).timeout(this.timeout);
+            headers.forEach((name, values) -> {
+                if (!JdkRestTransport.RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+
+            byte[] data = this.body.toByteArray();
+            builder.method(this.method.name(), data.length == 0 ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(data));
+            return builder.build();
+        }
+    }
+
+    private static class Response implements ClientHttpResponse {
+        private final HttpResponse<?> response;
+        private final InputStream body;
+        private HttpHeaders headers;
+
+        Response(HttpResponse<?> response, InputStream body) {
+            this.response = response;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(this.response.statusCode());
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(this.response.statusCode());
+            return status == null ? "" : status.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (this.headers == null) {
+                HttpHeaders h = new HttpHeaders();
+                this.response.headers().map().forEach((name, values) -> {
+                    /* HTTP/2 pseudo headers (i.e. :status) */
+                    if (!name.startsWith(":")) {
+                        h.addAll(name, values);
+                    }
+                });
+                this.headers = h;
+            }
+            return this.headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return this.body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.body.close();
+            } catch (IOException ex) {
+                /* nothing left to release */
+            }
+        }
+    }
+}
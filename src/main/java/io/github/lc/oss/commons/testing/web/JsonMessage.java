@@ -0,0 +1,47 @@
+package io.github.lc.oss.commons.testing.web;
+
+/**
+ * An expected message in a JSON response's <code>messages</code> array.
+ */
+public class JsonMessage {
+    private final String category;
+    private final String severity;
+    private final int number;
+    private final String text;
+
+    public JsonMessage(String category, String severity, int number) {
+        this(category, severity, number, null);
+    }
+
+    /**
+     * @param text expected message text, null to match any text
+     */
+    public JsonMessage(String category, String severity, int number, String text) {
+        this.category = category;
+        this.severity = severity;
+        this.number = number;
+        this.text = text;
+    }
+
+    public String getCategory() {
+        return this.category;
+    }
+
+    public String getSeverity() {
+        return this.severity;
+    }
+
+    public int getNumber() {
+        return this.number;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    @Override
+    public String toString() {
+        String id = String.format("%s.%s.%d", this.category, this.severity, this.number);
+        return this.text == null ? id : id + " '" + this.text + "'";
+    }
+}
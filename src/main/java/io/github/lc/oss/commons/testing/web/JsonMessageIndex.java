@@ -0,0 +1,105 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of a JSON response's <code>messages</code> array keyed by category,
+ * severity and number. Built once, each lookup is then a single hash probe
+ * instead of a scan of the whole array.
+ */
+public class JsonMessageIndex {
+    private static class Key {
+        private final String category;
+        private final String severity;
+        private final Integer number;
+        private final int hash;
+
+        Key(String category, String severity, Integer number) {
+            this.category = category;
+            this.severity = severity;
+            this.number = number;
+            this.hash = Objects.hash(category, severity, number);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(this.number, other.number) && //
+                    Objects.equals(this.category, other.category) && //
+                    Objects.equals(this.severity, other.severity);
+        }
+    }
+
+    private final Map<Key, List<JsonObject>> index;
+
+    public JsonMessageIndex(List<JsonObject> messages) {
+        this.index = new HashMap<>();
+        if (messages != null) {
+            for (JsonObject m : messages) {
+                if (m == null) {
+                    continue;
+                }
+                Number number = m.getProperty("number");
+                Key key = new Key(m.getString("category"), m.getString("severity"),
+                        number == null ? null : number.intValue());
+                this.index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(m);
+            }
+        }
+    }
+
+    /**
+     * Returns all messages with the given category, severity and number.
+     */
+    public List<JsonObject> get(String category, String severity, int number) {
+        return this.index.getOrDefault(new Key(category, severity, number), Collections.emptyList());
+    }
+
+    /**
+     * Returns the first matching message, null if there is none.
+     *
+     * @param text the message text, null to match any text
+     */
+    public JsonObject find(String category, String severity, int number, String text) {
+        for (JsonObject m : this.get(category, severity, number)) {
+            if (text == null || text.equals(m.getString("text"))) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    public JsonObject find(JsonMessage message) {
+        return this.find(message.getCategory(), message.getSeverity(), message.getNumber(), message.getText());
+    }
+
+    /**
+     * Returns the expected messages that are not in the index.
+     */
+    public List<JsonMessage> findMissing(JsonMessage... expected) {
+        List<JsonMessage> missing = new ArrayList<>();
+        if (expected != null) {
+            for (JsonMessage message : expected) {
+                if (this.find(message) == null) {
+                    missing.add(message);
+                }
+            }
+        }
+        return missing;
+    }
+}
@@ -1,15 +1,27 @@
 package io.github.lc.oss.commons.testing.web;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Assertions;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+@JsonDeserialize(using = JsonObjectDeserializer.class)
 public class JsonObject extends HashMap<String, Object> {
     private static final long serialVersionUID = -7286486270904246512L;
 
+    private transient volatile boolean lazy = false;
+    /* values not decoded yet, guarded by this */
+    private transient int pending = 0;
+
     public JsonObject() {
     }
 
@@ -23,9 +35,9 @@ public class JsonObject extends HashMap<String, Object> {
     @Override
     public Object put(String key, Object value) {
         if (value instanceof Map) {
-            return super.put(key, new JsonObject((Map<String, Object>) value));
+            return this.replaced(super.put(key, new JsonObject((Map<String, Object>) value)));
         } else if (value instanceof Enum) {
-            return super.put(key, ((Enum<?>) value).name());
+            return this.replaced(super.put(key, ((Enum<?>) value).name()));
         } else if (value instanceof List) {
             List l = (List) value;
             if (!l.isEmpty()) {
@@ -36,11 +48,215 @@ public class JsonObject extends HashMap<String, Object> {
                         JsonObject child = new JsonObject((Map<String, Object>) item);
                         list.add(child);
                     }
-                    return super.put(key, list);
+                    return this.replaced(super.put(key, list));
+                }
+            }
+        }
+        return this.replaced(super.put(key, value));
+    }
+
+    /**
+     * Stores the value as-is, used when the value is already in its final form
+     * (i.e. by the deserializer).
+     */
+    void putValue(String key, Object value) {
+        if (super.put(key, value) instanceof JsonObjectDeserializer.LazyValue) {
+            this.pending--;
+        }
+        if (value instanceof JsonObjectDeserializer.LazyValue) {
+            this.pending++;
+        }
+        this.lazy = this.pending > 0;
+    }
+
+    /*
+     * Lazily decoded values (see JsonObjectDeserializer) are replaced with the
+     * decoded value the first time they are read, bulk views decode everything
+     * first. Reads may happen concurrently so replacing values is done under a
+     * lock. The values still to decode are counted, once the last one is decoded
+     * reads go straight to the map. (Values dropped through the key set aren't
+     * counted, reads just keep locking until isLazy() or a bulk view notices.)
+     */
+
+    @Override
+    public Object get(Object key) {
+        if (!this.lazy) {
+            return super.get(key);
+        }
+
+        synchronized (this) {
+            Object v = super.get(key);
+            if (v instanceof JsonObjectDeserializer.LazyValue) {
+                v = ((JsonObjectDeserializer.LazyValue) v).materialize();
+                super.put((String) key, v);
+                this.decoded();
+            }
+            return v;
+        }
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return this.containsKey(key) ? this.get(key) : defaultValue;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return this.replaced(super.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            super.clear();
+            this.pending = 0;
+            this.lazy = false;
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        this.get(key);
+        return super.remove(key, value);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        this.get(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        this.get(key);
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        this.get(key);
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ? extends Object> mappingFunction) {
+        this.get(key);
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(String key,
+            BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+        this.get(key);
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+        this.get(key);
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value,
+            BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+        this.get(key);
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public Object clone() {
+        this.materialize();
+        return super.clone();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        this.materialize();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        this.materialize();
+        return super.entrySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        this.materialize();
+        return super.values();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        this.materialize();
+        super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ? extends Object> function) {
+        this.materialize();
+        super.replaceAll(function);
+    }
+
+    /**
+     * True if some values have not been decoded yet.
+     */
+    boolean isLazy() {
+        if (this.lazy) {
+            synchronized (this) {
+                this.pending = (int) super.values().stream()
+                        .filter(v -> v instanceof JsonObjectDeserializer.LazyValue).count();
+                this.lazy = this.pending > 0;
+            }
+        }
+        return this.lazy;
+    }
+
+    private Object writeReplace() {
+        this.materialize();
+        return this;
+    }
+
+    private void materialize() {
+        if (!this.lazy) {
+            return;
+        }
+
+        synchronized (this) {
+            for (Entry<String, Object> entry : super.entrySet()) {
+                if (entry.getValue() instanceof JsonObjectDeserializer.LazyValue) {
+                    entry.setValue(((JsonObjectDeserializer.LazyValue) entry.getValue()).materialize());
                 }
             }
+            this.pending = 0;
+            this.lazy = false;
         }
-        return super.put(key, value);
+    }
+
+    /*
+     * Callers hold the lock
+     */
+    private void decoded() {
+        if (--this.pending <= 0) {
+            this.pending = 0;
+            this.lazy = false;
+        }
+    }
+
+    /*
+     * Decodes a value that was replaced or removed, it no longer counts as
+     * pending.
+     */
+    private Object replaced(Object old) {
+        if (old instanceof JsonObjectDeserializer.LazyValue) {
+            synchronized (this) {
+                this.decoded();
+            }
+            return ((JsonObjectDeserializer.LazyValue) old).materialize();
+        }
+        return old;
     }
 
     @Override
@@ -98,4 +314,20 @@ public class JsonObject extends HashMap<String, Object> {
     public String getString(String id) {
         return this.getProperty(id);
     }
+
+    /**
+     * Returns all values matching the path (i.e.
+     * <code>$.data.items[*].status</code>), see {@link JsonPath}.
+     */
+    public <T> List<T> select(String path) {
+        return JsonPath.compile(path).select(this);
+    }
+
+    /**
+     * Returns the first value matching the path or null if nothing matches, see
+     * {@link JsonPath}.
+     */
+    public <T> T selectFirst(String path) {
+        return JsonPath.compile(path).selectFirst(this);
+    }
 }
@@ -0,0 +1,167 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opentest4j.AssertionFailedError;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Builds {@link JsonObject} trees straight from the token stream. Nested
+ * objects become {@link JsonObject}s as they are read, so the intermediate
+ * generic map tree (and the copy {@link JsonObject#put(String, Object)} would
+ * make of it) is never created. Scalars are delegated to the mapper's default
+ * handling so number/float features still apply.
+ * <p>
+ * When the reader has the {@link #LAZY} attribute set to true, nested objects
+ * and arrays are only buffered as tokens and decoded the first time they are
+ * accessed.
+ */
+class JsonObjectDeserializer extends StdDeserializer<JsonObject> implements ResolvableDeserializer {
+    private static final long serialVersionUID = 5406210432357424651L;
+
+    /**
+     * Reader attribute enabling lazy decoding of nested values.
+     */
+    public static final String LAZY = JsonObjectDeserializer.class.getName() + ".lazy";
+
+    /**
+     * Readers used to decode buffered values, shared by everything read from the
+     * same root.
+     */
+    private static class Lazy {
+        private final ObjectReader objects;
+        private final ObjectReader scalars;
+
+        Lazy(ObjectReader reader) {
+            this.objects = reader.forType(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY, this);
+            this.scalars = reader.forType(Object.class);
+        }
+    }
+
+    /**
+     * A nested object or array that has not been decoded yet.
+     */
+    static class LazyValue {
+        private final TokenBuffer buffer;
+        private final Lazy lazy;
+
+        LazyValue(TokenBuffer buffer, Lazy lazy) {
+            this.buffer = buffer;
+            this.lazy = lazy;
+        }
+
+        Object materialize() {
+            try (JsonParser p = this.buffer.asParser(this.lazy.objects)) {
+                p.nextToken();
+                return this.read(p);
+            } catch (IOException ex) {
+                throw new AssertionFailedError("Unable to parse JSON");
+            }
+        }
+
+        private Object read(JsonParser p) throws IOException {
+            switch (p.currentToken()) {
+                case START_OBJECT:
+                    return this.lazy.objects.readValue(p);
+                case START_ARRAY:
+                    List<Object> list = new ArrayList<>();
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        list.add(this.read(p));
+                    }
+                    return list;
+                case VALUE_NULL:
+                    return null;
+                default:
+                    return this.lazy.scalars.readValue(p);
+            }
+        }
+    }
+
+    private transient JsonDeserializer<Object> scalars;
+
+    public JsonObjectDeserializer() {
+        super(JsonObject.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        this.scalars = ctxt.findRootValueDeserializer(ctxt.constructType(Object.class));
+    }
+
+    @Override
+    public JsonObject deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (JsonObject) ctxt.handleUnexpectedToken(JsonObject.class, p);
+        }
+        return this.readObject(p, ctxt, token, this.getLazy(p, ctxt));
+    }
+
+    private Lazy getLazy(JsonParser p, DeserializationContext ctxt) {
+        Object attribute = ctxt.getAttribute(JsonObjectDeserializer.LAZY);
+        if (attribute instanceof Lazy) {
+            return (Lazy) attribute;
+        }
+        if (!Boolean.TRUE.equals(attribute)) {
+            return null;
+        }
+
+        ObjectCodec codec = p.getCodec();
+        if (codec instanceof ObjectReader) {
+            return new Lazy((ObjectReader) codec);
+        } else if (codec instanceof ObjectMapper) {
+            return new Lazy(((ObjectMapper) codec).reader());
+        }
+        /* no way to decode later, read everything now */
+        return null;
+    }
+
+    private JsonObject readObject(JsonParser p, DeserializationContext ctxt, JsonToken first, Lazy lazy)
+            throws IOException {
+        JsonObject object = new JsonObject();
+        for (JsonToken token = first; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.getCurrentName();
+            JsonToken value = p.nextToken();
+            if (lazy != null && (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY)) {
+                TokenBuffer buffer = new TokenBuffer(p, ctxt);
+                buffer.copyCurrentStructure(p);
+                object.putValue(name, new LazyValue(buffer, lazy));
+            } else {
+                object.putValue(name, this.readValue(p, ctxt));
+            }
+        }
+        return object;
+    }
+
+    private Object readValue(JsonParser p, DeserializationContext ctxt) throws IOException {
+        switch (p.currentToken()) {
+            case START_OBJECT:
+                return this.readObject(p, ctxt, p.nextToken(), null);
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(this.readValue(p, ctxt));
+                }
+                return list;
+            case VALUE_NULL:
+                return null;
+            default:
+                return this.scalars.deserialize(p, ctxt);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Compiled JSONPath style query over {@link JsonObject} trees. Supported syntax:
+ * <ul>
+ * <li><code>$</code> - the root object</li>
+ * <li><code>.name</code> or <code>['name']</code> - a property</li>
+ * <li><code>[n]</code> - an array element, negative values count from the
+ * end</li>
+ * <li><code>.*</code> or <code>[*]</code> - every property value or array
+ * element</li>
+ * </ul>
+ * Paths are parsed once and cached. Properties that don't exist (or don't apply
+ * to the value's type) simply produce no match.
+ */
+public final class JsonPath {
+    private static final int MAX_CACHED = 1024;
+    private static final Map<String, JsonPath> CACHE = new ConcurrentHashMap<>();
+    private static final Object NO_MATCH = new Object();
+
+    private enum Type {
+        NAME,
+        INDEX,
+        WILDCARD
+    }
+
+    private static class Step {
+        private final Type type;
+        private final String name;
+        private final int index;
+
+        Step(Type type, String name, int index) {
+            this.type = type;
+            this.name = name;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Returns the compiled path, parsing it only on first use.
+     */
+    public static JsonPath compile(String path) {
+        JsonPath compiled = JsonPath.CACHE.get(path == null ? "" : path);
+        if (compiled == null) {
+            compiled = new JsonPath(path);
+            if (JsonPath.CACHE.size() < JsonPath.MAX_CACHED) {
+                JsonPath.CACHE.put(compiled.path, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private final String path;
+    private final Step[] steps;
+
+    private JsonPath(String path) {
+        this.path = path == null ? "" : path;
+        this.steps = JsonPath.parse(this.path);
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * True if the path can match at most one value (no wildcards).
+     */
+    public boolean isDefinite() {
+        for (Step step : this.steps) {
+            if (step.type == Type.WILDCARD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Passes every matching value to the consumer, in document order.
+     */
+    public void forEach(JsonObject root, Consumer<Object> consumer) {
+        if (root != null) {
+            this.evaluate(root, 0, consumer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> select(JsonObject root) {
+        List<T> matches = new ArrayList<>();
+        this.forEach(root, v -> matches.add((T) v));
+        return matches;
+    }
+
+    /**
+     * Returns the first matching value or null if nothing matches.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T selectFirst(JsonObject root) {
+        if (root == null) {
+            return null;
+        }
+        Object match = this.first(root, 0);
+        return match == JsonPath.NO_MATCH ? null : (T) match;
+    }
+
+    public int count(JsonObject root) {
+        int[] count = new int[1];
+        this.forEach(root, v -> count[0]++);
+        return count[0];
+    }
+
+    private void evaluate(Object node, int step, Consumer<Object> consumer) {
+        if (step == this.steps.length) {
+            consumer.accept(node);
+            return;
+        }
+
+        Step s = this.steps[step];
+        switch (s.type) {
+            case NAME:
+                if (node instanceof Map && ((Map<?, ?>) node).containsKey(s.name)) {
+                    this.evaluate(((Map<?, ?>) node).get(s.name), step + 1, consumer);
+                }
+                break;
+            case INDEX:
+                if (node instanceof List) {
+                    List<?> list = (List<?>) node;
+                    int index = s.index < 0 ? list.size() + s.index : s.index;
+                    if (index >= 0 && index < list.size()) {
+                        this.evaluate(list.get(index), step + 1, consumer);
+                    }
+                }
+                break;
+            default:
+                if (node instanceof Map) {
+                    for (Object value : ((Map<?, ?>) node).values()) {
+                        this.evaluate(value, step + 1, consumer);
+                    }
+                } else if (node instanceof List) {
+                    for (Object value : (List<?>) node) {
+                        this.evaluate(value, step + 1, consumer);
+                    }
+                }
+                break;
+        }
+    }
+
+    private Object first(Object node, int step) {
+        if (step == this.steps.length) {
+            return node;
+        }
+
+        Step s = this.steps[step];
+        switch (s.type) {
+            case NAME:
+                if (node instanceof Map && ((Map<?, ?>) node).containsKey(s.name)) {
+                    return this.first(((Map<?, ?>) node).get(s.name), step + 1);
+                }
+                break;
+            case INDEX:
+                if (node instanceof List) {
+                    List<?> list = (List<?>) node;
+                    int index = s.index < 0 ? list.size() + s.index : s.index;
+                    if (index >= 0 && index < list.size()) {
+                        return this.first(list.get(index), step + 1);
+                    }
+                }
+                break;
+            default:
+                Iterable<?> values = node instanceof Map ? ((Map<?, ?>) node).values()
+                        : node instanceof List ? (List<?>) node : null;
+                if (values != null) {
+                    for (Object value : values) {
+                        Object match = this.first(value, step + 1);
+                        if (match != JsonPath.NO_MATCH) {
+                            return match;
+                        }
+                    }
+                }
+                break;
+        }
+        return JsonPath.NO_MATCH;
+    }
+
+    private static Step[] parse(String path) {
+        String p = path.trim();
+        if (!p.startsWith("$")) {
+            throw JsonPath.invalid(path);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        int i = 1;
+        while (i < p.length()) {
+            char c = p.charAt(i);
+            if (c == '.') {
+                i++;
+                if (i < p.length() && p.charAt(i) == '*') {
+                    steps.add(new Step(Type.WILDCARD, null, 0));
+                    i++;
+                    continue;
+                }
+
+                int start = i;
+                while (i < p.length() && p.charAt(i) != '.' && p.charAt(i) != '[') {
+                    i++;
+                }
+                if (i == start) {
+                    throw JsonPath.invalid(path);
+                }
+                steps.add(new Step(Type.NAME, p.substring(start, i), 0));
+            } else if (c == '[') {
+                i++;
+                if (i < p.length() && (p.charAt(i) == '\'' || p.charAt(i) == '"')) {
+                    char quote = p.charAt(i);
+                    int end = p.indexOf(quote, i + 1);
+                    if (end < 0 || end + 1 >= p.length() || p.charAt(end + 1) != ']') {
+                        throw JsonPath.invalid(path);
+                    }
+                    steps.add(new Step(Type.NAME, p.substring(i + 1, end), 0));
+                    i = end + 2;
+                    continue;
+                }
+
+                int end = p.indexOf(']', i);
+                if (end < 0) {
+                    throw JsonPath.invalid(path);
+                }
+                String value = p.substring(i, end).trim();
+                if (value.equals("*")) {
+                    steps.add(new Step(Type.WILDCARD, null, 0));
+                } else {
+                    try {
+                        steps.add(new Step(Type.INDEX, null, Integer.parseInt(value)));
+                    } catch (NumberFormatException ex) {
+                        throw JsonPath.invalid(path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw JsonPath.invalid(path);
+            }
+        }
+        return steps.toArray(new Step[steps.size()]);
+    }
+
+    private static AssertionFailedError invalid(String path) {
+        return new AssertionFailedError("Invalid JSON path: " + path);
+    }
+
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Latency budget for the REST calls made by a test (see
+ * {@link LatencyBudgetExtension}). Placed on a class it applies to every test
+ * method that doesn't declare its own budget. Limits of 0 are not checked.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface LatencyBudget {
+    /**
+     * Limit for any single call, in milliseconds.
+     */
+    long maxMillis() default 0;
+
+    /**
+     * Limit for the 95th percentile of all calls, in milliseconds.
+     */
+    long p95Millis() default 0;
+
+    /**
+     * Check the time to first byte instead of the full response time.
+     */
+    boolean timeToFirstByte() default false;
+}
@@ -0,0 +1,62 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Records the REST calls made by test methods annotated (directly or via their
+ * class) with {@link LatencyBudget} and fails the test if they exceed the
+ * budget. Only the test method itself is timed, set up and tear down are not.
+ */
+public class LatencyBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+            .create(LatencyBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) throws Exception {
+        if (this.getBudget(context) != null) {
+            context.getStore(LatencyBudgetExtension.NAMESPACE).put(RequestTimings.class, RequestTimings.start());
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) throws Exception {
+        RequestTimings timings = context.getStore(LatencyBudgetExtension.NAMESPACE).remove(RequestTimings.class,
+                RequestTimings.class);
+        if (timings == null) {
+            return;
+        }
+
+        timings.stop();
+        if (context.getExecutionException().isPresent()) {
+            /* don't hide the original failure */
+            return;
+        }
+
+        LatencyBudget budget = this.getBudget(context);
+        timings.assertWithin( //
+                LatencyBudgetExtension.toDuration(budget.maxMillis()), //
+                LatencyBudgetExtension.toDuration(budget.p95Millis()), //
+                budget.timeToFirstByte());
+    }
+
+    LatencyBudget getBudget(ExtensionContext context) {
+        LatencyBudget budget = context.getTestMethod(). //
+                flatMap(m -> AnnotationSupport.findAnnotation(m, LatencyBudget.class)). //
+                orElse(null);
+        if (budget == null) {
+            budget = context.getTestClass(). //
+                    flatMap(c -> AnnotationSupport.findAnnotation(c, LatencyBudget.class)). //
+                    orElse(null);
+        }
+        return budget;
+    }
+
+    private static Duration toDuration(long millis) {
+        return millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed size latency histogram (in nanoseconds) in the spirit of
+ * HdrHistogram. Values are kept in log-linear buckets - every power of two is
+ * split into 64 linear sub-buckets - which bounds the relative error of any
+ * reported percentile to less than 2% while using a constant amount of memory.
+ * Safe for concurrent recording.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    /* values below this are recorded exactly */
+    private static final int LINEAR_LIMIT = LatencyHistogram.SUB_BUCKET_COUNT * 2;
+    private static final int BUCKET_COUNT = LatencyHistogram.LINEAR_LIMIT
+            + (63 - LatencyHistogram.SUB_BUCKET_BITS - 1) * LatencyHistogram.SUB_BUCKET_COUNT;
+
+    static int indexOf(long value) {
+        if (value < LatencyHistogram.LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - LatencyHistogram.SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - LatencyHistogram.SUB_BUCKET_COUNT;
+        return LatencyHistogram.LINEAR_LIMIT + (shift - 1) * LatencyHistogram.SUB_BUCKET_COUNT + sub;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < LatencyHistogram.LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LatencyHistogram.LINEAR_LIMIT;
+        int shift = offset / LatencyHistogram.SUB_BUCKET_COUNT + 1;
+        long sub = offset % LatencyHistogram.SUB_BUCKET_COUNT + LatencyHistogram.SUB_BUCKET_COUNT;
+        return (sub << shift) + (1L << shift) - 1;
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(LatencyHistogram.indexOf(value));
+        this.count.increment();
+        this.total.add(value);
+        if (value < this.min.get()) {
+            this.min.accumulateAndGet(value, Math::min);
+        }
+        if (value > this.max.get()) {
+            this.max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public void record(Duration duration) {
+        this.record(duration.toNanos());
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c > 0) {
+                this.counts.addAndGet(i, c);
+            }
+        }
+        this.count.add(other.getCount());
+        this.total.add(other.total.sum());
+        this.min.accumulateAndGet(other.min.get(), Math::min);
+        this.max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Sum of all recorded values.
+     */
+    public long getTotal() {
+        return this.total.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public long getMin() {
+        return this.getCount() == 0 ? 0 : this.min.get();
+    }
+
+    public long getMean() {
+        long c = this.getCount();
+        return c == 0 ? 0 : this.total.sum() / c;
+    }
+
+    /**
+     * Returns the (upper bound of the bucket holding the) value at the requested
+     * percentile, i.e. 50.0 for the median. Returns 0 when nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long c = this.getCount();
+        if (c == 0) {
+            return 0;
+        }
+
+        double p = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * c));
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            seen += this.counts.get(i);
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.highestValueAt(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    public Duration getPercentile(double percentile) {
+        return Duration.ofNanos(this.getValueAtPercentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p50=%.3fms, p95=%.3fms, p99=%.3fms, max=%.3fms", //
+                this.getCount(), //
+                LatencyHistogram.toMillis(this.getMean()), //
+                LatencyHistogram.toMillis(this.getValueAtPercentile(50)), //
+                LatencyHistogram.toMillis(this.getValueAtPercentile(95)), //
+                LatencyHistogram.toMillis(this.getValueAtPercentile(99)), //
+                LatencyHistogram.toMillis(this.getMax()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Runs a scenario concurrently across a number of virtual users, either for a
+ * fixed number of iterations per user or for a fixed duration. Any exception or
+ * assertion failure thrown by the scenario counts as an error, so the regular
+ * functional assertions double as load checks.
+ * <p>
+ * Each user runs on its own virtual thread when the runtime supports them (Java
+ * 21+), otherwise on its own platform thread.
+ */
+public class LoadTest {
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    private final int users;
+    private final int iterations;
+    private final Duration duration;
+    private final Runnable scenario;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final List<String> errorSamples = new ArrayList<>();
+
+    /**
+     * @param users      number of concurrent virtual users
+     * @param iterations iterations per user, ignored if duration is not null
+     * @param duration   how long each user runs the scenario for, may be null
+     * @param scenario   the work each user performs per iteration
+     */
+    public LoadTest(int users, int iterations, Duration duration, Runnable scenario) {
+        Assertions.assertTrue(users > 0, "Users must be greater than 0");
+        Assertions.assertTrue(duration != null || iterations > 0, "Iterations or duration is required");
+        Assertions.assertNotNull(scenario, "Scenario cannot be null");
+        this.users = users;
+        this.iterations = iterations;
+        this.duration = duration;
+        this.scenario = scenario;
+    }
+
+    public LoadTestResult run() {
+        ExecutorService executor = RestService.newVirtualThreadExecutor();
+        if (executor == null) {
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(this.users, r -> {
+                Thread thread = new Thread(r, "LoadTest-user-" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        CountDownLatch ready = new CountDownLatch(this.users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        /* the users' REST calls count towards the caller's latency budget */
+        Supplier<Void> user = RequestTimings.propagate(() -> {
+            this.runUser();
+            return null;
+        });
+        try {
+            for (int i = 0; i < this.users; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return user.get();
+                }));
+            }
+
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+
+            List<String> samples;
+            synchronized (this.errorSamples) {
+                samples = new ArrayList<>(this.errorSamples);
+            }
+            return new LoadTestResult(this.users, this.completed.sum(), this.errors.sum(), elapsed, this.latency,
+                    samples);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AssertionFailedError("Load test interrupted", ex);
+        } catch (Exception ex) {
+            throw new AssertionFailedError("Load test failed", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runUser() {
+        if (this.duration == null) {
+            for (int i = 0; i < this.iterations; i++) {
+                this.runIteration();
+            }
+        } else {
+            long deadline = System.nanoTime() + this.duration.toNanos();
+            while (System.nanoTime() - deadline < 0) {
+                this.runIteration();
+            }
+        }
+    }
+
+    private void runIteration() {
+        long start = System.nanoTime();
+        try {
+            this.scenario.run();
+        } catch (RuntimeException | AssertionError ex) {
+            this.errors.increment();
+            synchronized (this.errorSamples) {
+                if (this.errorSamples.size() < LoadTest.MAX_ERROR_SAMPLES) {
+                    this.errorSamples.add(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+                }
+            }
+        } finally {
+            this.latency.record(System.nanoTime() - start);
+            this.completed.increment();
+        }
+    }
+}
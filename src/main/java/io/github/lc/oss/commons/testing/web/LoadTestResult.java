@@ -0,0 +1,101 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+public class LoadTestResult {
+    private final int users;
+    private final long iterations;
+    private final long errors;
+    private final Duration elapsed;
+    private final LatencyHistogram latency;
+    private final List<String> errorSamples;
+
+    public LoadTestResult(int users, long iterations, long errors, Duration elapsed, LatencyHistogram latency,
+            List<String> errorSamples) {
+        this.users = users;
+        this.iterations = iterations;
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.latency = latency;
+        this.errorSamples = errorSamples == null ? Collections.emptyList()
+                : Collections.unmodifiableList(errorSamples);
+    }
+
+    public int getUsers() {
+        return this.users;
+    }
+
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    public long getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Fraction (0.0 - 1.0) of iterations that failed.
+     */
+    public double getErrorRate() {
+        if (this.iterations == 0) {
+            return 0;
+        }
+        return (double) this.errors / this.iterations;
+    }
+
+    public Duration getElapsed() {
+        return this.elapsed;
+    }
+
+    /**
+     * Iterations per second.
+     */
+    public double getThroughput() {
+        long nanos = this.elapsed.toNanos();
+        if (nanos <= 0) {
+            return 0;
+        }
+        return this.iterations * 1_000_000_000.0 / nanos;
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    public Duration getP50() {
+        return this.latency.getPercentile(50);
+    }
+
+    public Duration getP95() {
+        return this.latency.getPercentile(95);
+    }
+
+    public Duration getP99() {
+        return this.latency.getPercentile(99);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(this.latency.getMax());
+    }
+
+    /**
+     * The first few failure messages, useful when reporting why a load run failed.
+     */
+    public List<String> getErrorSamples() {
+        return this.errorSamples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users=%d, iterations=%d, errors=%d (%.2f%%), elapsed=%dms, throughput=%.1f/s, %s", //
+                this.users, //
+                this.iterations, //
+                this.errors, //
+                this.getErrorRate() * 100, //
+                this.elapsed.toMillis(), //
+                this.getThroughput(), //
+                this.latency);
+    }
+}
@@ -0,0 +1,297 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.opentest4j.AssertionFailedError;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Response times of the REST calls made by the current thread while the timings
+ * are active, used to enforce latency budgets. Timings nest - calls recorded by
+ * an inner timing also count towards the enclosing one.
+ * <p>
+ * Each call records two values: the time to first byte (request sent until the
+ * status and headers are received) and the response time (request sent until
+ * the response body has been read and closed). Neither includes parsing the
+ * body into a {@link JsonObject} unless streaming JSON is enabled, in which case
+ * the body is parsed while it is being read and only the time to first byte
+ * excludes it.
+ * <p>
+ * Every call is recorded into a {@link LatencyHistogram}, only the first
+ * {@value #MAX_SAMPLES} samples are kept, so long runs (i.e. a
+ * {@link LoadTest}) use a constant amount of memory.
+ */
+public class RequestTimings {
+    public static final int MAX_SAMPLES = 1000;
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final ClientHttpRequestInterceptor INTERCEPTOR = RequestTimings::intercept;
+
+    public static class Sample {
+        private final String method;
+        private final String url;
+        private final int status;
+        private final long firstByteNanos;
+        private final long totalNanos;
+
+        Sample(String method, String url, int status, long firstByteNanos, long totalNanos) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.firstByteNanos = firstByteNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        public String getMethod() {
+            return this.method;
+        }
+
+        public String getUrl() {
+            return this.url;
+        }
+
+        public int getStatus() {
+            return this.status;
+        }
+
+        public Duration getFirstByte() {
+            return Duration.ofNanos(this.firstByteNanos);
+        }
+
+        public Duration getTotal() {
+            return Duration.ofNanos(this.totalNanos);
+        }
+
+        long nanos(boolean firstByte) {
+            return firstByte ? this.firstByteNanos : this.totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s (%d): %.3fms, first byte %.3fms", //
+                    this.method, //
+                    this.url, //
+                    this.status, //
+                    RequestTimings.toMillis(this.totalNanos), //
+                    RequestTimings.toMillis(this.firstByteNanos));
+        }
+    }
+
+    /**
+     * Starts recording the calls made by the current thread, must be followed by
+     * {@link #stop()}.
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings(RequestTimings.CURRENT.get());
+        RequestTimings.CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * The timings active on the current thread, null if there are none.
+     */
+    public static RequestTimings current() {
+        return RequestTimings.CURRENT.get();
+    }
+
+    /**
+     * Wraps the call so that it records into the timings active on the calling
+     * thread, regardless of which thread eventually runs it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> call) {
+        RequestTimings timings = RequestTimings.CURRENT.get();
+        if (timings == null) {
+            return call;
+        }
+
+        return () -> {
+            RequestTimings previous = RequestTimings.CURRENT.get();
+            RequestTimings.CURRENT.set(timings);
+            try {
+                return call.get();
+            } finally {
+                RequestTimings.restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Interceptor that records every exchange into the timings active on the
+     * thread making the call.
+     */
+    public static ClientHttpRequestInterceptor getInterceptor() {
+        return RequestTimings.INTERCEPTOR;
+    }
+
+    private static ClientHttpResponse intercept(HttpRequest request, byte[] body,
+            ClientHttpRequestExecution execution) throws IOException {
+        RequestTimings timings = RequestTimings.CURRENT.get();
+        if (timings == null) {
+            return execution.execute(request, body);
+        }
+
+        String method = request.getMethod().name();
+        String url = String.valueOf(request.getURI());
+        long start = System.nanoTime();
+        ClientHttpResponse response = execution.execute(request, body);
+        return new TimedResponse(response, start, System.nanoTime(),
+                (status, firstByte, total, bytes) -> timings.record(new Sample(method, url, status, firstByte, total)));
+    }
+
+    private static void restore(RequestTimings timings) {
+        if (timings == null) {
+            RequestTimings.CURRENT.remove();
+        } else {
+            RequestTimings.CURRENT.set(timings);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private final RequestTimings parent;
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retained = new AtomicInteger();
+    private final LatencyHistogram firstByte = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+    /* reported even once it is no longer among the kept samples */
+    private final AtomicReference<Sample> slowestFirstByte = new AtomicReference<>();
+    private final AtomicReference<Sample> slowestTotal = new AtomicReference<>();
+
+    RequestTimings(RequestTimings parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Stops recording, re-activating the enclosing timings (if any).
+     */
+    public void stop() {
+        if (RequestTimings.CURRENT.get() == this) {
+            RequestTimings.restore(this.parent);
+        }
+    }
+
+    public void record(String method, String url, int status, Duration firstByte, Duration total) {
+        this.record(new Sample(method, url, status, firstByte.toNanos(), total.toNanos()));
+    }
+
+    void record(Sample sample) {
+        this.firstByte.record(sample.firstByteNanos);
+        this.total.record(sample.totalNanos);
+        this.slowestFirstByte.accumulateAndGet(sample, (a, b) -> RequestTimings.slowest(a, b, true));
+        this.slowestTotal.accumulateAndGet(sample, (a, b) -> RequestTimings.slowest(a, b, false));
+        if (this.retained.get() < RequestTimings.MAX_SAMPLES
+                && this.retained.incrementAndGet() <= RequestTimings.MAX_SAMPLES) {
+            this.samples.add(sample);
+        }
+        if (this.parent != null) {
+            this.parent.record(sample);
+        }
+    }
+
+    private static Sample slowest(Sample a, Sample b, boolean firstByte) {
+        return a == null || b.nanos(firstByte) > a.nanos(firstByte) ? b : a;
+    }
+
+    /**
+     * The first {@value #MAX_SAMPLES} calls recorded, see {@link #getCount()} for
+     * the number of calls.
+     */
+    public List<Sample> getSamples() {
+        return Collections.unmodifiableList(new ArrayList<>(this.samples));
+    }
+
+    public long getCount() {
+        return this.total.getCount();
+    }
+
+    /**
+     * Returns the value at the requested percentile (nearest rank) of the
+     * response times or times to first byte, zero if nothing was recorded. Exact
+     * while all of the samples are kept, from the histogram (within 2%) after.
+     */
+    public Duration getPercentile(double percentile, boolean firstByte) {
+        if (this.getCount() > RequestTimings.MAX_SAMPLES) {
+            return (firstByte ? this.firstByte : this.total).getPercentile(percentile);
+        }
+
+        long[] values = this.samples.stream().mapToLong(s -> s.nanos(firstByte)).toArray();
+        if (values.length == 0) {
+            return Duration.ZERO;
+        }
+
+        Arrays.sort(values);
+        double p = Math.min(100.0, Math.max(0.0, percentile));
+        int rank = (int) Math.ceil(p / 100.0 * values.length);
+        return Duration.ofNanos(values[Math.max(0, rank - 1)]);
+    }
+
+    /**
+     * Asserts the recorded calls are within budget, reporting every violation at
+     * once. Fails if a limit is given but no calls were recorded since that
+     * usually means the calls weren't made through {@link RestService} or were
+     * made on a thread the timings weren't propagated to.
+     *
+     * @param max       limit for any single call, null for no limit
+     * @param p95       limit for the 95th percentile, null for no limit
+     * @param firstByte true to check the time to first byte instead of the
+     *                  response time
+     */
+    public void assertWithin(Duration max, Duration p95, boolean firstByte) {
+        if ((max != null || p95 != null) && this.getCount() == 0) {
+            throw new AssertionFailedError("Latency budget declared but no REST calls were recorded");
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (max != null) {
+            long limit = max.toNanos();
+            for (Sample sample : this.samples) {
+                if (sample.nanos(firstByte) > limit) {
+                    violations.add(String.format("%s %s took %.3fms (max %.3fms)", //
+                            sample.getMethod(), //
+                            sample.getUrl(), //
+                            RequestTimings.toMillis(sample.nanos(firstByte)), //
+                            RequestTimings.toMillis(limit)));
+                }
+            }
+
+            Sample slowest = (firstByte ? this.slowestFirstByte : this.slowestTotal).get();
+            if (slowest != null && slowest.nanos(firstByte) > limit && !this.samples.contains(slowest)) {
+                violations.add(String.format("%s %s took %.3fms (max %.3fms, slowest of %d calls)", //
+                        slowest.getMethod(), //
+                        slowest.getUrl(), //
+                        RequestTimings.toMillis(slowest.nanos(firstByte)), //
+                        RequestTimings.toMillis(limit), //
+                        this.getCount()));
+            }
+        }
+        if (p95 != null) {
+            Duration actual = this.getPercentile(95, firstByte);
+            if (actual.compareTo(p95) > 0) {
+                violations.add(String.format("p95 of %d calls was %.3fms (max %.3fms)", //
+                        this.getCount(), //
+                        RequestTimings.toMillis(actual.toNanos()), //
+                        RequestTimings.toMillis(p95.toNanos())));
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new AssertionFailedError(String.format("Latency budget exceeded (%s): %s", //
+                    firstByte ? "time to first byte" : "response time", //
+                    String.join(", ", violations)));
+        }
+    }
+}
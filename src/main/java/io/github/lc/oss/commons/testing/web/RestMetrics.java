@@ -0,0 +1,285 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Per endpoint traffic recorded by {@link RestService}: call count, latency,
+ * request/response bytes, status codes and CSRF retries. Endpoints are keyed by
+ * method and URL template - the path with the query string removed and numeric
+ * or UUID like segments replaced by <code>{id}</code>. Recording is lock-free
+ * (adders and a concurrent map) and safe for concurrent callers.
+ * <p>
+ * Latency runs from sending the request until the response is closed (i.e.
+ * fully read).
+ */
+public class RestMetrics {
+    public static class Endpoint {
+        private final String method;
+        private final String template;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder csrfRetries = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        Endpoint(String method, String template) {
+            this.method = method;
+            this.template = template;
+        }
+
+        void record(int status, long nanos, long requestBytes, long responseBytes) {
+            this.calls.increment();
+            this.latency.record(nanos);
+            this.requestBytes.add(requestBytes);
+            this.responseBytes.add(responseBytes);
+            this.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+
+        void recordError(long nanos, long requestBytes) {
+            this.calls.increment();
+            this.errors.increment();
+            this.latency.record(nanos);
+            this.requestBytes.add(requestBytes);
+        }
+
+        public String getMethod() {
+            return this.method;
+        }
+
+        public String getTemplate() {
+            return this.template;
+        }
+
+        public long getCalls() {
+            return this.calls.sum();
+        }
+
+        /**
+         * Calls that failed without a response (i.e. connection errors).
+         */
+        public long getErrors() {
+            return this.errors.sum();
+        }
+
+        public long getRequestBytes() {
+            return this.requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return this.responseBytes.sum();
+        }
+
+        public long getCsrfRetries() {
+            return this.csrfRetries.sum();
+        }
+
+        public LatencyHistogram getLatency() {
+            return this.latency;
+        }
+
+        /**
+         * Number of responses per status code.
+         */
+        public Map<Integer, Long> getStatuses() {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            this.statuses.forEach((k, v) -> statuses.put(k, v.sum()));
+            return statuses;
+        }
+
+        public long getStatusCount(int status) {
+            LongAdder count = this.statuses.get(status);
+            return count == null ? 0 : count.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: calls=%d, errors=%d, csrfRetries=%d, sent=%d, received=%d, statuses=%s, %s", //
+                    this.method, //
+                    this.template, //
+                    this.getCalls(), //
+                    this.getErrors(), //
+                    this.getCsrfRetries(), //
+                    this.getRequestBytes(), //
+                    this.getResponseBytes(), //
+                    this.getStatuses(), //
+                    this.latency);
+        }
+    }
+
+    /**
+     * Reduces a URL to its template, i.e.
+     * <code>http://host/api/users/42?x=1</code> becomes
+     * <code>/api/users/{id}</code>.
+     */
+    public static String template(String url) {
+        if (url == null) {
+            return "";
+        }
+
+        String path = url;
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart < 0 ? "/" : path.substring(pathStart);
+        }
+        int end = path.length();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(end);
+        int start = 0;
+        while (start <= end) {
+            int slash = path.indexOf('/', start);
+            int segmentEnd = slash < 0 || slash > end ? end : slash;
+            if (RestMetrics.isId(path, start, segmentEnd)) {
+                sb.append("{id}");
+            } else {
+                sb.append(path, start, segmentEnd);
+            }
+            if (segmentEnd < end) {
+                sb.append('/');
+            }
+            start = segmentEnd + 1;
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    /*
+     * Numbers, UUIDs and long hex strings are considered ids.
+     */
+    private static boolean isId(String path, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return false;
+        }
+
+        boolean digits = true;
+        boolean hex = true;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                digits = false;
+                if (!((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-')) {
+                    hex = false;
+                    break;
+                }
+            }
+        }
+        return digits || (hex && length >= 16);
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicBoolean reported = new AtomicBoolean(false);
+    private final ClientHttpRequestInterceptor interceptor = this::intercept;
+
+    /**
+     * Interceptor that records every exchange made through a RestTemplate.
+     */
+    public ClientHttpRequestInterceptor getInterceptor() {
+        return this.interceptor;
+    }
+
+    public Endpoint getEndpoint(String method, String url) {
+        return this.endpoints.get(method + " " + RestMetrics.template(url));
+    }
+
+    /**
+     * All endpoints, slowest (by total time) first.
+     */
+    public List<Endpoint> getEndpoints() {
+        List<Endpoint> list = new ArrayList<>(this.endpoints.values());
+        list.sort(Comparator.comparingLong((Endpoint e) -> e.getLatency().getTotal()).reversed());
+        return Collections.unmodifiableList(list);
+    }
+
+    public long getTotalCalls() {
+        return this.endpoints.values().stream().mapToLong(Endpoint::getCalls).sum();
+    }
+
+    public void reset() {
+        this.endpoints.clear();
+    }
+
+    public void recordCsrfRetry(String method, String url) {
+        this.endpoint(method, url).csrfRetries.increment();
+    }
+
+    public void record(String method, String url, int status, Duration latency, long requestBytes,
+            long responseBytes) {
+        this.endpoint(method, url).record(status, latency.toNanos(), requestBytes, responseBytes);
+    }
+
+    public void recordError(String method, String url, Duration latency, long requestBytes) {
+        this.endpoint(method, url).recordError(latency.toNanos(), requestBytes);
+    }
+
+    /**
+     * Human readable summary, one line per endpoint, slowest first.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("REST metrics: %d calls, %d endpoints", this.getTotalCalls(), this.endpoints.size()));
+        for (Endpoint e : this.getEndpoints()) {
+            sb.append(System.lineSeparator()).append("  ").append(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns true the first time it is called, used to report the summary only
+     * once.
+     */
+    boolean markReported() {
+        return this.reported.compareAndSet(false, true);
+    }
+
+    private Endpoint endpoint(String method, String url) {
+        String template = RestMetrics.template(url);
+        String key = method + " " + template;
+        Endpoint endpoint = this.endpoints.get(key);
+        if (endpoint == null) {
+            endpoint = this.endpoints.computeIfAbsent(key, k -> new Endpoint(method, template));
+        }
+        return endpoint;
+    }
+
+    private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI uri = request.getURI();
+        Endpoint endpoint = this.endpoint(request.getMethod().name(), uri == null ? null : uri.toString());
+        long requestBytes = body == null ? 0 : body.length;
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException ex) {
+            endpoint.recordError(System.nanoTime() - start, requestBytes);
+            throw ex;
+        }
+        return new TimedResponse(response, start, System.nanoTime(),
+                (status, firstByte, total, bytes) -> endpoint.record(status, total, requestBytes, bytes));
+    }
+}
@@ -1,24 +1,32 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.apache.hc.client5.http.config.ConnectionConfig;
-import org.apache.hc.client5.http.config.RequestConfig;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.core5.http.io.SocketConfig;
-import org.apache.hc.core5.util.Timeout;
 import org.junit.jupiter.api.Assertions;
 import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -26,26 +34,77 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import io.github.lc.oss.commons.encoding.Encodings;
+import io.github.lc.oss.commons.util.IoTools;
 import io.github.lc.oss.commons.web.tokens.CsrfTokenManager;
 
-public class RestService {
+public class RestService implements DisposableBean {
     private static final StringHttpMessageConverter UTF_8_CONVERTER = new StringHttpMessageConverter(
             StandardCharsets.UTF_8);
 
     protected static final int DEFAULT_TIMEOUT = 30 * 1000;
+    protected static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    protected static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 100;
+    /*
+     * Only an ObjectMapper bean with this name is used, the application's own
+     * mapper is configured for the application and not for the tests
+     */
+    public static final String OBJECT_MAPPER = "restServiceObjectMapper";
+    /* ObjectMapper is thread-safe once configured, one instance is shared by default */
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final RestTransport APACHE_TRANSPORT = new ApacheRestTransport();
+    private static final JdkRestTransport JDK_TRANSPORT = new JdkRestTransport();
 
     @Autowired(required = false)
     private TestRestTemplateErrorHandler errorHandler;
     @Autowired(required = false)
     private CsrfTokenManager csrfTokenManager;
+    @Autowired(required = false)
+    @Qualifier(RestService.OBJECT_MAPPER)
+    private ObjectMapper objectMapper;
+    @Autowired(required = false)
+    private RestTransport transport;
+    @Value("${testing.rest.transport:" + ApacheRestTransport.NAME + "}")
+    private String transportName = ApacheRestTransport.NAME;
+    @Value("${testing.rest.client.shared:true}")
+    private boolean sharedClient = true;
+    @Value("${testing.rest.client.maxConnectionsPerRoute:" + RestService.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + "}")
+    private int maxConnectionsPerRoute = RestService.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    @Value("${testing.rest.client.maxConnectionsTotal:" + RestService.DEFAULT_MAX_CONNECTIONS_TOTAL + "}")
+    private int maxConnectionsTotal = RestService.DEFAULT_MAX_CONNECTIONS_TOTAL;
+    @Value("${testing.rest.json.streaming:false}")
+    private boolean streamingJson = false;
+    @Value("${testing.rest.csrf.cache:false}")
+    private boolean csrfCache = false;
+    @Value("${testing.rest.json.lazy:false}")
+    private boolean lazyJson = false;
+    @Value("${testing.rest.metrics:false}")
+    private boolean metricsEnabled = false;
+    /* blank prints the summary to stdout */
+    @Value("${testing.rest.metrics.report:}")
+    private String metricsReport = "";
+    @Value("${testing.rest.latency.timeToFirstByte:false}")
+    private boolean latencyTimeToFirstByte = false;
+    private volatile RestMetrics metrics;
+    /* origin -> CSRF cookies and token captured from the last challenge */
+    private final Map<String, Map<String, String>> csrfCacheEntries = new ConcurrentHashMap<>();
+    private volatile ClientHttpRequestFactory sharedRequestFactory;
+    private volatile ObjectReader jsonReader;
+    private volatile ObjectWriter jsonWriter;
+    private volatile ExecutorService asyncExecutor;
 
     public Map<String, String> basicAuthHeader(String username, String password) {
         Assertions.assertNotNull(username);
@@ -62,9 +121,10 @@ public class RestService {
 
     public <T> ResponseEntity<T> call(HttpMethod method, String url, Map<String, String> headers, Class<T> responseType,
             Object body) {
+        Map<String, String> sentHeaders = this.withCachedCsrf(url, headers);
         HttpHeaders requestHeaders = new HttpHeaders();
-        if (headers != null) {
-            headers.forEach((k, v) -> requestHeaders.add(k, v));
+        if (sentHeaders != null) {
+            sentHeaders.forEach((k, v) -> requestHeaders.add(k, v));
         }
 
         URI uri;
@@ -76,51 +136,38 @@ public class RestService {
 
         ResponseEntity<T> response = this.createRestTemplate().exchange(uri, method,
                 new HttpEntity<>(body, requestHeaders), responseType);
-        if (response.getStatusCode() == HttpStatus.FORBIDDEN && //
-                this.getCsrfTokenManager() != null && //
-                (headers == null || !headers.containsKey(this.getCsrfTokenManager().getHeaderId()))) //
-        {
-            Map<String, String> extraHeaders = new HashMap<>();
-            if (headers != null) {
-                extraHeaders.putAll(headers);
+        if (this.isCsrfRetry(response.getStatusCode().value(), headers)) {
+            this.recordCsrfRetry(method, url);
+            if (sentHeaders != headers) {
+                /* cached token was rejected, start over */
+                this.evictCachedCsrf(url);
+                return this.call(method, url, headers, responseType, body);
             }
-            List<String> cookies = response.getHeaders().get(HttpHeaders.SET_COOKIE);
-            String cookieHeader = cookies.stream(). //
-                    map(c -> c.split(";")[0]). //
-                    collect(Collectors.joining("; "));
-            String allCookies = extraHeaders.get(HttpHeaders.COOKIE);
-            if (allCookies != null) {
-                if (!allCookies.endsWith(";")) {
-                    allCookies += ";";
-                }
-                allCookies += " ";
-                allCookies += cookieHeader;
-            } else {
-                allCookies = cookieHeader;
-            }
-            extraHeaders.put(HttpHeaders.COOKIE, allCookies);
-            String csrfHeader = cookies.stream(). //
-                    filter(c -> c.startsWith(this.getCsrfTokenManager().getHeaderId())). //
-                    map(c -> c.split(";")[0]). //
-                    map(c -> c.replace(this.getCsrfTokenManager().getHeaderId() + "=", "")). //
-                    findAny(). //
-                    orElse("");
-            extraHeaders.put(this.getCsrfTokenManager().getHeaderId(), csrfHeader);
-            return this.call(method, url, extraHeaders, responseType, body);
+            this.cacheCsrf(url, response.getHeaders());
+            return this.call(method, url, this.getCsrfRetryHeaders(headers, response.getHeaders()), responseType,
+                    body);
         }
         return response;
     }
 
     public ResponseEntity<JsonObject> callJson(HttpMethod method, String url, Map<String, String> headers, Object body,
             HttpStatus expectedStatus) {
-        String data = null;
+        String data = this.toJsonBody(body);
+        if (this.isStreamingJson()) {
+            return this.callJsonStreaming(method, url, headers, data, expectedStatus);
+        }
+
+        return this.toJsonResponse(this.call(method, url, headers, String.class, data), expectedStatus);
+    }
+
+    private String toJsonBody(Object body) {
         if (body instanceof String) {
-            data = (String) body;
-        } else if (body != null) {
-            data = this.toJson(body);
+            return (String) body;
         }
+        return body == null ? null : this.toJson(body);
+    }
 
-        ResponseEntity<String> result = this.call(method, url, headers, String.class, data);
+    private ResponseEntity<JsonObject> toJsonResponse(ResponseEntity<String> result, HttpStatus expectedStatus) {
         Assertions.assertNotNull(result);
         Assertions.assertEquals(expectedStatus, result.getStatusCode());
 
@@ -142,36 +189,532 @@ public class RestService {
         return new ResponseEntity<>(jsonObject, result.getHeaders(), result.getStatusCode());
     }
 
-    public ClientHttpRequestFactory createRequestFactory() {
-        /*
-         * Long standing Java bug - PATCH isn't supported by default :(
-         *
-         * Note: HttpClient is not reusable :(
-         */
-        ConnectionConfig connConfig = ConnectionConfig.custom(). //
-                setConnectTimeout(Timeout.ofMicroseconds(this.getTimeout())). //
-                build();
+    /**
+     * Variant of {@link #callJson(HttpMethod, String, Map, Object, HttpStatus)}
+     * that fails if any of the HTTP calls it makes (including CSRF retries) takes
+     * longer than maxLatency. Client side JSON parsing is not included, see
+     * {@link RequestTimings}.
+     */
+    public ResponseEntity<JsonObject> callJson(HttpMethod method, String url, Map<String, String> headers, Object body,
+            HttpStatus expectedStatus, Duration maxLatency) {
+        return this.withinLatency(maxLatency, () -> this.callJson(method, url, headers, body, expectedStatus));
+    }
+
+    /**
+     * Runs the call with its HTTP calls timed, failing if any of them took longer
+     * than maxLatency. Measures the time to first byte instead of the response
+     * time when {@code testing.rest.latency.timeToFirstByte} is enabled.
+     */
+    protected <T> T withinLatency(Duration maxLatency, Supplier<T> call) {
+        Assertions.assertNotNull(maxLatency, "maxLatency cannot be null");
+        RequestTimings timings = RequestTimings.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            timings.stop();
+        }
+        timings.assertWithin(maxLatency, null, this.isLatencyTimeToFirstByte());
+        return result;
+    }
+
+    /**
+     * Variant of {@link #callJson(HttpMethod, String, Map, Object, HttpStatus)}
+     * that parses the response directly from the response stream instead of
+     * buffering it as a String first.
+     */
+    protected ResponseEntity<JsonObject> callJsonStreaming(HttpMethod method, String url, Map<String, String> headers,
+            String body, HttpStatus expectedStatus) {
+        Map<String, String> sentHeaders = this.withCachedCsrf(url, headers);
+        HttpHeaders requestHeaders = new HttpHeaders();
+        if (sentHeaders != null) {
+            sentHeaders.forEach((k, v) -> requestHeaders.add(k, v));
+        }
+
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException ex) {
+            throw new AssertionFailedError("Invalid URL");
+        }
+
+        RestTemplate rest = this.createRestTemplate();
+        ResponseEntity<JsonObject> result = rest.execute(uri, method,
+                rest.httpEntityCallback(new HttpEntity<>(body, requestHeaders)), response -> {
+                    if (this.isCsrfRetry(response.getStatusCode().value(), headers)) {
+                        return new ResponseEntity<>(null, response.getHeaders(), response.getStatusCode());
+                    }
+
+                    Assertions.assertEquals(expectedStatus, response.getStatusCode());
+                    if (expectedStatus == HttpStatus.NO_CONTENT || expectedStatus == HttpStatus.NOT_FOUND) {
+                        Assertions.assertEquals(-1, response.getBody().read(), "Expected an empty response body");
+                        return new ResponseEntity<>(null, response.getHeaders(), response.getStatusCode());
+                    }
+
+                    JsonObject json = this.readJson(response.getBody());
+                    return new ResponseEntity<>(json, response.getHeaders(), response.getStatusCode());
+                });
+        Assertions.assertNotNull(result);
+
+        if (this.isCsrfRetry(result.getStatusCode().value(), headers)) {
+            this.recordCsrfRetry(method, url);
+            if (sentHeaders != headers) {
+                this.evictCachedCsrf(url);
+                return this.callJsonStreaming(method, url, headers, body, expectedStatus);
+            }
+            this.cacheCsrf(url, result.getHeaders());
+            return this.callJsonStreaming(method, url, this.getCsrfRetryHeaders(headers, result.getHeaders()), body,
+                    expectedStatus);
+        }
+        return result;
+    }
+
+    protected boolean isCsrfRetry(int status, Map<String, String> requestHeaders) {
+        return status == HttpStatus.FORBIDDEN.value() && //
+                this.getCsrfTokenManager() != null && //
+                (requestHeaders == null || !requestHeaders.containsKey(this.getCsrfTokenManager().getHeaderId()));
+    }
+
+    protected Map<String, String> getCsrfRetryHeaders(Map<String, String> headers, HttpHeaders responseHeaders) {
+        List<String> cookies = responseHeaders.get(HttpHeaders.SET_COOKIE);
+        String cookieHeader = cookies.stream(). //
+                map(c -> c.split(";")[0]). //
+                collect(Collectors.joining("; "));
+        return this.withCsrf(headers, cookieHeader, this.getCsrfToken(cookies));
+    }
+
+    private Map<String, String> withCsrf(Map<String, String> headers, String cookieHeader, String csrfHeader) {
+        Map<String, String> extraHeaders = new HashMap<>();
+        if (headers != null) {
+            extraHeaders.putAll(headers);
+        }
+        String allCookies = extraHeaders.get(HttpHeaders.COOKIE);
+        if (allCookies != null) {
+            if (!allCookies.endsWith(";")) {
+                allCookies += ";";
+            }
+            allCookies += " ";
+            allCookies += cookieHeader;
+        } else {
+            allCookies = cookieHeader;
+        }
+        extraHeaders.put(HttpHeaders.COOKIE, allCookies);
+        extraHeaders.put(this.getCsrfTokenManager().getHeaderId(), csrfHeader);
+        return extraHeaders;
+    }
+
+    private String getCsrfToken(List<String> cookies) {
+        return cookies.stream(). //
+                filter(c -> c.startsWith(this.getCsrfTokenManager().getHeaderId())). //
+                map(c -> c.split(";")[0]). //
+                map(c -> c.replace(this.getCsrfTokenManager().getHeaderId() + "=", "")). //
+                findAny(). //
+                orElse("");
+    }
+
+    /*
+     * CSRF cache - when enabled the cookies and token from a CSRF challenge are
+     * remembered per origin and sent proactively with later requests, so only the
+     * first state changing call (or one with a stale token) costs a 403 and retry.
+     */
+
+    /**
+     * Returns the headers with the cached CSRF cookies and token for the URL's
+     * origin added, or the given headers (same instance) if there is nothing to
+     * add.
+     */
+    protected Map<String, String> withCachedCsrf(String url, Map<String, String> headers) {
+        if (!this.isCsrfCache() || this.getCsrfTokenManager() == null
+                || (headers != null && headers.containsKey(this.getCsrfTokenManager().getHeaderId()))) {
+            return headers;
+        }
+
+        String origin = RestService.getOrigin(url);
+        Map<String, String> cached = origin == null ? null : this.csrfCacheEntries.get(origin);
+        if (cached == null) {
+            return headers;
+        }
+        return this.withCsrf(headers, cached.get(HttpHeaders.COOKIE),
+                cached.get(this.getCsrfTokenManager().getHeaderId()));
+    }
+
+    protected void cacheCsrf(String url, HttpHeaders responseHeaders) {
+        String origin = RestService.getOrigin(url);
+        List<String> cookies = responseHeaders.get(HttpHeaders.SET_COOKIE);
+        if (!this.isCsrfCache() || origin == null || cookies == null) {
+            return;
+        }
+
+        String token = this.getCsrfToken(cookies);
+        if (token.equals("")) {
+            return;
+        }
+
+        Map<String, String> entry = new HashMap<>();
+        entry.put(HttpHeaders.COOKIE, cookies.stream(). //
+                map(c -> c.split(";")[0]). //
+                collect(Collectors.joining("; ")));
+        entry.put(this.getCsrfTokenManager().getHeaderId(), token);
+        this.csrfCacheEntries.put(origin, entry);
+    }
+
+    protected void evictCachedCsrf(String url) {
+        String origin = RestService.getOrigin(url);
+        if (origin != null) {
+            this.csrfCacheEntries.remove(origin);
+        }
+    }
 
-        SocketConfig socketConfig = SocketConfig.custom(). //
-                setSoTimeout(Timeout.ofMilliseconds(this.getTimeout())). //
-                build();
+    public void clearCsrfCache() {
+        this.csrfCacheEntries.clear();
+    }
 
-        PoolingHttpClientConnectionManager connManager = PoolingHttpClientConnectionManagerBuilder.create(). //
-                setDefaultSocketConfig(socketConfig). //
-                setDefaultConnectionConfig(connConfig). //
-                build();
+    private static String getOrigin(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+                return null;
+            }
+            return uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT);
+        } catch (URISyntaxException ex) {
+            return null;
+        }
+    }
 
-        RequestConfig requestConfig = RequestConfig.custom(). //
-                setResponseTimeout(Timeout.ofMilliseconds(this.getTimeout())). //
-                build();
+    /*
+     * Asynchronous variants - with the JDK transport the requests are sent with
+     * HttpClient.sendAsync so no thread waits on the server, otherwise the
+     * blocking calls run on getAsyncExecutor(). Either way CSRF retries and
+     * expected status assertions behave exactly as they do for the synchronous
+     * methods. Assertion failures complete the future exceptionally, use
+     * await()/awaitAll() to rethrow them as-is.
+     */
 
-        CloseableHttpClient client = HttpClientBuilder.create(). //
-                setDefaultRequestConfig(requestConfig). //
-                setConnectionManager(connManager). //
-                disableRedirectHandling(). //
-                build();
+    public <T> CompletableFuture<ResponseEntity<T>> callAsync(HttpMethod method, String url,
+            Map<String, String> headers, Class<T> responseType, Object body) {
+        JdkRestTransport.RequestFactory factory = this.getAsyncRequestFactory();
+        if (factory == null) {
+            return this.supplyAsync(() -> this.call(method, url, headers, responseType, body));
+        }
+        return this.exchangeAsync(factory, method, url, headers, responseType, body, RequestTimings.current());
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> callJsonAsync(HttpMethod method, String url,
+            Map<String, String> headers, Object body, HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.callJson(method, url, headers, body, expectedStatus), //
+                method, url, headers, body, expectedStatus);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url) {
+        return this.jsonAsync(() -> this.getJson(url), HttpMethod.GET, url, null, null, HttpStatus.OK);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url, HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.getJson(url, expectedStatus), HttpMethod.GET, url, null, null,
+                expectedStatus);
+    }
 
-        return new HttpComponentsClientHttpRequestFactory(client);
+    public CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url, Map<String, String> headers) {
+        return this.jsonAsync(() -> this.getJson(url, headers), HttpMethod.GET, url, headers, null, HttpStatus.OK);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> getJsonAsync(String url, Map<String, String> headers,
+            HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.getJson(url, headers, expectedStatus), HttpMethod.GET, url, headers, null,
+                expectedStatus);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> postJsonAsync(String url, Object body) {
+        return this.jsonAsync(() -> this.postJson(url, body), HttpMethod.POST, url, this.jsonHeaders(null), body,
+                HttpStatus.OK);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> postJsonAsync(String url, Object body,
+            Map<String, String> headers) {
+        return this.jsonAsync(() -> this.postJson(url, body, headers), HttpMethod.POST, url,
+                this.jsonHeaders(headers), body, HttpStatus.OK);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> postJsonAsync(String url, Object body,
+            Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.postJson(url, body, headers, expectedStatus), HttpMethod.POST, url,
+                this.jsonHeaders(headers), body, expectedStatus);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> putJsonAsync(String url, Object body) {
+        return this.jsonAsync(() -> this.putJson(url, body), HttpMethod.PUT, url, this.jsonHeaders(null), body,
+                HttpStatus.NO_CONTENT);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> putJsonAsync(String url, Object body,
+            Map<String, String> headers) {
+        return this.jsonAsync(() -> this.putJson(url, body, headers), HttpMethod.PUT, url,
+                this.jsonHeaders(headers), body, HttpStatus.NO_CONTENT);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> putJsonAsync(String url, Object body,
+            Map<String, String> headers, HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.putJson(url, body, headers, expectedStatus), HttpMethod.PUT, url,
+                this.jsonHeaders(headers), body, expectedStatus);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> deleteJsonAsync(String url) {
+        return this.jsonAsync(() -> this.deleteJson(url), HttpMethod.DELETE, url, null, null,
+                HttpStatus.NO_CONTENT);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> deleteJsonAsync(String url, Map<String, String> headers) {
+        return this.jsonAsync(() -> this.deleteJson(url, headers), HttpMethod.DELETE, url, headers, null,
+                HttpStatus.NO_CONTENT);
+    }
+
+    public CompletableFuture<ResponseEntity<JsonObject>> deleteJsonAsync(String url, Map<String, String> headers,
+            HttpStatus expectedStatus) {
+        return this.jsonAsync(() -> this.deleteJson(url, headers, expectedStatus), HttpMethod.DELETE, url, headers,
+                null, expectedStatus);
+    }
+
+    private CompletableFuture<ResponseEntity<JsonObject>> jsonAsync(Supplier<ResponseEntity<JsonObject>> blocking,
+            HttpMethod method, String url, Map<String, String> headers, Object body, HttpStatus expectedStatus) {
+        JdkRestTransport.RequestFactory factory = this.getAsyncRequestFactory();
+        if (factory == null) {
+            return this.supplyAsync(blocking);
+        }
+
+        RequestTimings timings = RequestTimings.current();
+        return CompletableFuture.completedFuture(body). //
+                thenApply(this::toJsonBody). //
+                thenCompose(data -> this.exchangeAsync(factory, method, url, headers, String.class, data, timings)). //
+                thenApply(result -> this.toJsonResponse(result, expectedStatus));
+    }
+
+    /*
+     * The JDK transport's factory when it is the one in use, null otherwise (the
+     * asynchronous methods then fall back to the executor).
+     */
+    private JdkRestTransport.RequestFactory getAsyncRequestFactory() {
+        if (!(this.getTransport() instanceof JdkRestTransport)) {
+            return null;
+        }
+
+        ClientHttpRequestFactory factory = this.getRequestFactory();
+        return factory instanceof JdkRestTransport.RequestFactory ? (JdkRestTransport.RequestFactory) factory : null;
+    }
+
+    /*
+     * Same exchange as call() (error handler, message converters, metrics, timings
+     * and CSRF retries) with the request sent through HttpClient.sendAsync, the
+     * response is processed on the client's executor once fully received.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> exchangeAsync(JdkRestTransport.RequestFactory factory,
+            HttpMethod method, String url, Map<String, String> headers, Class<T> responseType, Object body,
+            RequestTimings timings) {
+        Map<String, String> sentHeaders = this.withCachedCsrf(url, headers);
+        HttpHeaders requestHeaders = new HttpHeaders();
+        if (sentHeaders != null) {
+            sentHeaders.forEach((k, v) -> requestHeaders.add(k, v));
+        }
+
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException ex) {
+            return CompletableFuture.failedFuture(new AssertionFailedError("Invalid URL"));
+        }
+
+        RestTemplate rest = this.createRestTemplate();
+        RestMetrics metrics = this.getMetrics();
+        JdkRestTransport.Request request = factory.createRequest(uri, method);
+        long start = System.nanoTime();
+        CompletableFuture<ClientHttpResponse> sent;
+        try {
+            rest.httpEntityCallback(new HttpEntity<>(body, requestHeaders), responseType).doWithRequest(request);
+            sent = request.executeAsync((status, firstByte, total, bytes) -> {
+                if (metrics != null) {
+                    metrics.record(method.name(), url, status, Duration.ofNanos(total), request.getBodySize(), bytes);
+                }
+                if (timings != null) {
+                    timings.record(method.name(), url, status, Duration.ofNanos(firstByte), Duration.ofNanos(total));
+                }
+            });
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(RestService.ioError(method, uri, ex));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        return sent.handle((response, ex) -> {
+            if (ex != null) {
+                if (metrics != null) {
+                    metrics.recordError(method.name(), url, Duration.ofNanos(System.nanoTime() - start),
+                            request.getBodySize());
+                }
+                throw RestService.asyncError(method, uri, ex);
+            }
+            return RestService.extract(rest, method, uri, response, responseType);
+        }).thenCompose(response -> {
+            if (this.isCsrfRetry(response.getStatusCode().value(), headers)) {
+                this.recordCsrfRetry(method, url);
+                if (sentHeaders != headers) {
+                    /* cached token was rejected, start over */
+                    this.evictCachedCsrf(url);
+                    return this.exchangeAsync(factory, method, url, headers, responseType, body, timings);
+                }
+                this.cacheCsrf(url, response.getHeaders());
+                return this.exchangeAsync(factory, method, url,
+                        this.getCsrfRetryHeaders(headers, response.getHeaders()), responseType, body, timings);
+            }
+            return CompletableFuture.completedFuture(response);
+        });
+    }
+
+    private static <T> ResponseEntity<T> extract(RestTemplate rest, HttpMethod method, URI uri,
+            ClientHttpResponse response, Class<T> responseType) {
+        try {
+            ResponseErrorHandler errorHandler = rest.getErrorHandler();
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(uri, method, response);
+            }
+            return rest.<T> responseEntityExtractor(responseType).extractData(response);
+        } catch (IOException ex) {
+            throw RestService.ioError(method, uri, ex);
+        } finally {
+            response.close();
+        }
+    }
+
+    private static RuntimeException asyncError(HttpMethod method, URI uri, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof IOException) {
+            return RestService.ioError(method, uri, (IOException) cause);
+        } else if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CompletionException(cause);
+    }
+
+    /* same message RestTemplate uses */
+    private static ResourceAccessException ioError(HttpMethod method, URI uri, IOException ex) {
+        return new ResourceAccessException(
+                "I/O error on " + method.name() + " request for \"" + uri + "\": " + ex.getMessage(), ex);
+    }
+
+    /**
+     * Waits for the future to complete and returns its value. If the call failed
+     * the original error (i.e. the {@link AssertionFailedError}) is rethrown.
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for all of the futures to complete and returns their values in
+     * iteration order. The first failure encountered is rethrown as-is.
+     */
+    public <T> List<T> awaitAll(Collection<CompletableFuture<T>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(ex -> null).join();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(this.await(future));
+        }
+        return results;
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        /* keep recording into the caller's latency budget */
+        return CompletableFuture.supplyAsync(RequestTimings.propagate(call), this.getAsyncExecutor());
+    }
+
+    public ExecutorService getAsyncExecutor() {
+        ExecutorService executor = this.asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.asyncExecutor;
+                if (executor == null) {
+                    executor = this.createAsyncExecutor();
+                    this.asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Creates the executor backing the asynchronous methods. Virtual threads are
+     * used when the runtime supports them (Java 21+), otherwise an unbounded pool
+     * of daemon threads is used.
+     */
+    protected ExecutorService createAsyncExecutor() {
+        ExecutorService executor = RestService.newVirtualThreadExecutor();
+        if (executor != null) {
+            return executor;
+        }
+
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "RestService-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executor starting a new virtual thread for every task, null if the runtime
+     * doesn't support virtual threads (before Java 21).
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            /* Resolved reflectively so that older runtimes are still supported */
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a new request factory from {@link #getTransport()}.
+     * <p>
+     * Note: every call creates a new factory (and for the Apache transport a new
+     * client), see getRequestFactory() for the shared/pooled alternative.
+     */
+    public ClientHttpRequestFactory createRequestFactory() {
+        return this.getTransport().createRequestFactory(this);
+    }
+
+    /**
+     * The transport HTTP calls are sent through - the RestTransport bean if there
+     * is one, otherwise the one named by {@code testing.rest.transport}.
+     */
+    public RestTransport getTransport() {
+        if (this.transport != null) {
+            return this.transport;
+        }
+
+        String name = this.getTransportName() == null ? "" //
+                : this.getTransportName().trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "":
+            case ApacheRestTransport.NAME:
+                return RestService.APACHE_TRANSPORT;
+            case JdkRestTransport.NAME:
+                return RestService.JDK_TRANSPORT;
+            default:
+                throw new AssertionFailedError("Unknown REST transport: " + this.getTransportName());
+        }
     }
 
     public RestTemplate createRestTemplate() {
@@ -180,10 +723,17 @@ public class RestService {
         if (errorHandler != null) {
             rest.setErrorHandler(errorHandler);
         }
-        ClientHttpRequestFactory factory = this.createRequestFactory();
+        ClientHttpRequestFactory factory = this.getRequestFactory();
         if (factory != null) {
             rest.setRequestFactory(factory);
         }
+        RestMetrics metrics = this.getMetrics();
+        if (metrics != null) {
+            rest.getInterceptors().add(metrics.getInterceptor());
+        }
+        if (RequestTimings.current() != null) {
+            rest.getInterceptors().add(RequestTimings.getInterceptor());
+        }
 
         /*
          * Spring 5.2+ "bug" - encoding headers are no longer supplied so JSON strings
@@ -193,18 +743,176 @@ public class RestService {
         return rest;
     }
 
+    /**
+     * Returns the request factory used by {@link #createRestTemplate()}. By default
+     * ({@code testing.rest.client.shared=true}) a single pooled factory is created
+     * on first use and kept (along with its keep-alive connections) until
+     * {@link #destroy()} is called. When shared mode is disabled a new factory is
+     * created for every call and is never closed, callers opting out of sharing own
+     * the clean up of those clients.
+     */
+    public ClientHttpRequestFactory getRequestFactory() {
+        if (!this.isSharedClient()) {
+            return this.createRequestFactory();
+        }
+
+        ClientHttpRequestFactory factory = this.sharedRequestFactory;
+        if (factory == null) {
+            synchronized (this) {
+                factory = this.sharedRequestFactory;
+                if (factory == null) {
+                    factory = this.createRequestFactory();
+                    this.sharedRequestFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Per endpoint traffic recorded by this service, null unless
+     * {@code testing.rest.metrics} is enabled.
+     */
+    public RestMetrics getMetrics() {
+        if (!this.isMetricsEnabled()) {
+            return null;
+        }
+
+        RestMetrics m = this.metrics;
+        if (m == null) {
+            synchronized (this) {
+                m = this.metrics;
+                if (m == null) {
+                    m = new RestMetrics();
+                    this.metrics = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    private void recordCsrfRetry(HttpMethod method, String url) {
+        RestMetrics m = this.getMetrics();
+        if (m != null) {
+            m.recordCsrfRetry(method.name(), url);
+        }
+    }
+
+    /**
+     * Prints (or writes to {@code testing.rest.metrics.report}) the metrics
+     * summary, only once per run.
+     */
+    protected void reportMetrics() {
+        RestMetrics m = this.metrics;
+        if (m == null || !m.markReported()) {
+            return;
+        }
+
+        String report = this.getMetricsReport();
+        if (report == null || report.trim().equals("")) {
+            System.out.println(m.summary());
+        } else {
+            IoTools.writeToFile(m.summary().getBytes(StandardCharsets.UTF_8), report.trim());
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.reportMetrics();
+
+        ClientHttpRequestFactory factory;
+        ExecutorService executor;
+        synchronized (this) {
+            factory = this.sharedRequestFactory;
+            this.sharedRequestFactory = null;
+            executor = this.asyncExecutor;
+            this.asyncExecutor = null;
+        }
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+
+        if (factory instanceof DisposableBean) {
+            ((DisposableBean) factory).destroy();
+        }
+
+        /* the JDK transport keeps a client per service even when it isn't shared */
+        RestService.JDK_TRANSPORT.release(this);
+    }
+
     protected CsrfTokenManager getCsrfTokenManager() {
         return this.csrfTokenManager;
     }
 
     public JsonObject fromJson(String json) {
         try {
-            return new ObjectMapper().readValue(json, JsonObject.class);
-        } catch (JsonProcessingException ex) {
+            return this.getJsonReader().readValue(json);
+        } catch (IOException ex) {
+            throw new AssertionFailedError("Unable to parse JSON");
+        }
+    }
+
+    /**
+     * Parses a JSON object directly from a stream, returns null for an empty
+     * stream. The anti-JSON-hijacking check is applied to the first token so the
+     * body never needs to be buffered.
+     */
+    public JsonObject readJson(InputStream json) {
+        try (JsonParser parser = this.getObjectMapper().getFactory().createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                throw new AssertionFailedError(
+                        "JSON response is not a JSON object. Body is vulnerable to interception attacks.");
+            }
+
+            return this.getJsonReader().readValue(parser);
+        } catch (IOException ex) {
             throw new AssertionFailedError("Unable to parse JSON");
         }
     }
 
+    public ObjectMapper getObjectMapper() {
+        if (this.objectMapper == null) {
+            return RestService.DEFAULT_OBJECT_MAPPER;
+        }
+        return this.objectMapper;
+    }
+
+    /**
+     * Pre-built (and immutable) reader for {@link JsonObject}, created once from
+     * {@link #getObjectMapper()}. With lazy JSON enabled nested objects and arrays
+     * are only decoded when first accessed.
+     */
+    public ObjectReader getJsonReader() {
+        ObjectReader reader = this.jsonReader;
+        if (reader == null) {
+            reader = this.getObjectMapper().readerFor(JsonObject.class);
+            if (this.isLazyJson()) {
+                reader = reader.withAttribute(JsonObjectDeserializer.LAZY, Boolean.TRUE);
+            }
+            this.jsonReader = reader;
+        }
+        return reader;
+    }
+
+    /**
+     * Pre-built (and immutable) writer, created once from
+     * {@link #getObjectMapper()}.
+     */
+    public ObjectWriter getJsonWriter() {
+        ObjectWriter writer = this.jsonWriter;
+        if (writer == null) {
+            writer = this.getObjectMapper().writer();
+            this.jsonWriter = writer;
+        }
+        return writer;
+    }
+
     public ResponseEntity<JsonObject> getJson(String url) {
         return this.getJson(url, HttpStatus.OK);
     }
@@ -221,6 +929,15 @@ public class RestService {
         return this.callJson(HttpMethod.GET, url, headers, null, expectedStatus);
     }
 
+    public ResponseEntity<JsonObject> getJson(String url, Duration maxLatency) {
+        return this.getJson(url, null, HttpStatus.OK, maxLatency);
+    }
+
+    public ResponseEntity<JsonObject> getJson(String url, Map<String, String> headers, HttpStatus expectedStatus,
+            Duration maxLatency) {
+        return this.withinLatency(maxLatency, () -> this.getJson(url, headers, expectedStatus));
+    }
+
     public ResponseEntity<JsonObject> postJson(String url, Object body) {
         return this.postJson(url, body, null);
     }
@@ -231,12 +948,12 @@ public class RestService {
 
     public ResponseEntity<JsonObject> postJson(String url, Object body, Map<String, String> headers,
             HttpStatus expectedStatus) {
-        Map<String, String> allHeaders = new HashMap<>();
-        allHeaders.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
-        if (headers != null) {
-            allHeaders.putAll(headers);
-        }
-        return this.callJson(HttpMethod.POST, url, allHeaders, body, expectedStatus);
+        return this.callJson(HttpMethod.POST, url, this.jsonHeaders(headers), body, expectedStatus);
+    }
+
+    public ResponseEntity<JsonObject> postJson(String url, Object body, Map<String, String> headers,
+            HttpStatus expectedStatus, Duration maxLatency) {
+        return this.withinLatency(maxLatency, () -> this.postJson(url, body, headers, expectedStatus));
     }
 
     public ResponseEntity<JsonObject> putJson(String url, Object body) {
@@ -249,12 +966,16 @@ public class RestService {
 
     public ResponseEntity<JsonObject> putJson(String url, Object body, Map<String, String> headers,
             HttpStatus expectedStatus) {
+        return this.callJson(HttpMethod.PUT, url, this.jsonHeaders(headers), body, expectedStatus);
+    }
+
+    private Map<String, String> jsonHeaders(Map<String, String> headers) {
         Map<String, String> allHeaders = new HashMap<>();
         allHeaders.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
         if (headers != null) {
             allHeaders.putAll(headers);
         }
-        return this.callJson(HttpMethod.PUT, url, allHeaders, body, expectedStatus);
+        return allHeaders;
     }
 
     public ResponseEntity<JsonObject> deleteJson(String url) {
@@ -277,9 +998,49 @@ public class RestService {
         return RestService.DEFAULT_TIMEOUT;
     }
 
+    public String getTransportName() {
+        return this.transportName;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return this.maxConnectionsPerRoute;
+    }
+
+    public int getMaxConnectionsTotal() {
+        return this.maxConnectionsTotal;
+    }
+
+    public boolean isSharedClient() {
+        return this.sharedClient;
+    }
+
+    public boolean isStreamingJson() {
+        return this.streamingJson;
+    }
+
+    public boolean isCsrfCache() {
+        return this.csrfCache;
+    }
+
+    public boolean isLazyJson() {
+        return this.lazyJson;
+    }
+
+    public boolean isMetricsEnabled() {
+        return this.metricsEnabled;
+    }
+
+    public String getMetricsReport() {
+        return this.metricsReport;
+    }
+
+    public boolean isLatencyTimeToFirstByte() {
+        return this.latencyTimeToFirstByte;
+    }
+
     public String toJson(Object object) {
         try {
-            return new ObjectMapper().writeValueAsString(object);
+            return this.getJsonWriter().writeValueAsString(object);
         } catch (JsonProcessingException ex) {
             throw new AssertionFailedError("Unable to convert object to JSON");
         }
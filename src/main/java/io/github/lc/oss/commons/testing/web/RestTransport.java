@@ -0,0 +1,20 @@
+package io.github.lc.oss.commons.testing.web;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * The HTTP client {@link RestService} sends its requests through. Selected with
+ * {@code testing.rest.transport} (<code>apache</code> or <code>jdk</code>) or by
+ * providing a RestTransport bean.
+ * <p>
+ * Factories that hold resources (i.e. connection pools) should implement
+ * {@link org.springframework.beans.factory.DisposableBean}, shared factories are
+ * destroyed along with the service.
+ */
+public interface RestTransport {
+    /**
+     * Creates a request factory configured with the service's timeout and
+     * connection limits.
+     */
+    ClientHttpRequestFactory createRequestFactory(RestService service);
+}
@@ -0,0 +1,210 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import io.github.lc.oss.commons.util.IoTools;
+
+/**
+ * Writes screenshots on a background thread so failing tests don't wait on disk
+ * I/O. Screenshots are optionally downscaled and/or re-encoded as JPEG. Pending
+ * screenshots are flushed on JVM shutdown.
+ */
+public class ScreenShotWriter {
+    private static final int QUEUE_CAPACITY = 64;
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final long SHUTDOWN_FLUSH_MILLIS = 30000;
+    private static final Map<String, ScreenShotWriter> WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the JVM wide writer for the given settings, starting it on first
+     * use.
+     *
+     * @param format   "png" or "jpg"
+     * @param maxWidth screenshots wider than this are scaled down, 0 to keep the
+     *                 original size
+     */
+    public static ScreenShotWriter get(String format, int maxWidth) {
+        return ScreenShotWriter.WRITERS.computeIfAbsent(format + "|" + maxWidth, k -> {
+            ScreenShotWriter writer = new ScreenShotWriter(format, maxWidth, ScreenShotWriter.QUEUE_CAPACITY);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> writer.flush(ScreenShotWriter.SHUTDOWN_FLUSH_MILLIS), "ScreenShotWriter-shutdown"));
+            return writer;
+        });
+    }
+
+    private static class Job {
+        private final byte[] png;
+        private final String path;
+
+        Job(byte[] png, String path) {
+            this.png = png;
+            this.path = path;
+        }
+    }
+
+    private final String format;
+    private final int maxWidth;
+    private final BlockingQueue<Job> queue;
+    private final Object lock = new Object();
+    private int pending = 0;
+
+    ScreenShotWriter(String format, int maxWidth, int capacity) {
+        String f = format == null ? "" : format.trim().toLowerCase();
+        this.format = f.equals("jpg") || f.equals("jpeg") ? "jpg" : "png";
+        this.maxWidth = maxWidth;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    void start() {
+        Thread thread = new Thread(this::drain, "ScreenShotWriter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public String getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Queues a PNG screenshot for writing to path (without extension). If the
+     * queue is full the screenshot is written on the calling thread instead of
+     * being dropped.
+     */
+    public void submit(byte[] png, String path) {
+        Job job = new Job(png, path);
+        synchronized (this.lock) {
+            this.pending++;
+        }
+        if (!this.queue.offer(job)) {
+            this.process(job);
+        }
+    }
+
+    /**
+     * Waits up to timeout milliseconds for all queued screenshots to be written.
+     *
+     * @return true if everything was written
+     */
+    public boolean flush(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (this.lock) {
+            while (this.pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    this.lock.wait(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            try {
+                Job job = this.queue.poll(1, TimeUnit.MINUTES);
+                if (job != null) {
+                    this.process(job);
+                }
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void process(Job job) {
+        try {
+            this.write(job);
+        } catch (RuntimeException | IOException ex) {
+            System.err.println("Failed to write screenshot " + job.path + ": " + ex.getMessage());
+        } finally {
+            synchronized (this.lock) {
+                this.pending--;
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    private void write(Job job) throws IOException {
+        if (this.format.equals("png") && this.maxWidth <= 0) {
+            IoTools.writeToFile(job.png, job.path + ".png");
+            return;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(job.png));
+        if (image == null) {
+            /* not something we can decode, keep the original */
+            IoTools.writeToFile(job.png, job.path + ".png");
+            return;
+        }
+
+        IoTools.writeToFile(this.encode(this.scale(image)), job.path + "." + this.format);
+    }
+
+    BufferedImage scale(BufferedImage image) {
+        boolean resize = this.maxWidth > 0 && image.getWidth() > this.maxWidth;
+        /* JPEG has no alpha channel */
+        boolean convert = this.format.equals("jpg") && image.getType() != BufferedImage.TYPE_INT_RGB;
+        if (!resize && !convert) {
+            return image;
+        }
+
+        int width = resize ? this.maxWidth : image.getWidth();
+        int height = resize ? Math.max(1, (int) ((long) image.getHeight() * width / image.getWidth()))
+                : image.getHeight();
+        BufferedImage scaled = new BufferedImage(width, height,
+                this.format.equals("jpg") ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (this.format.equals("png")) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(ScreenShotWriter.JPEG_QUALITY);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
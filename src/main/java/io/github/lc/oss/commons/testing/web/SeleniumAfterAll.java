@@ -0,0 +1,12 @@
+package io.github.lc.oss.commons.testing.web;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class SeleniumAfterAll implements AfterAllCallback {
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        /* Class scoped browser sessions end with the class, JVM scoped ones live on */
+        context.getTestClass().ifPresent(ChromiumSessions::close);
+    }
+}
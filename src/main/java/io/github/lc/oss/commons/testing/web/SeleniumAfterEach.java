@@ -15,6 +15,10 @@ public class SeleniumAfterEach implements AfterEachCallback {
             test.screenShot(name);
         }
 
-        test.getDriver().quit();
+        if (test.isSessionReused()) {
+            test.releaseDriver();
+        } else {
+            test.getDriver().quit();
+        }
     }
 }
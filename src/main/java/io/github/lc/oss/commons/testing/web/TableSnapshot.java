@@ -0,0 +1,141 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Read-only copy of the body rows of a table, captured with a single script
+ * call. Reading cells from the snapshot does not talk to the browser.
+ */
+public class TableSnapshot {
+    public static class Row {
+        private final Map<String, String> attributes;
+        private final List<Cell> cells;
+
+        Row(Map<String, String> attributes, List<Cell> cells) {
+            this.attributes = attributes;
+            this.cells = cells;
+        }
+
+        public String getAttribute(String name) {
+            return this.attributes.get(name);
+        }
+
+        public Map<String, String> getAttributes() {
+            return this.attributes;
+        }
+
+        public Cell getCell(int index) {
+            return this.cells.get(index);
+        }
+
+        public List<Cell> getCells() {
+            return this.cells;
+        }
+
+        public List<String> getTexts() {
+            return this.cells.stream().map(Cell::getText).collect(Collectors.toList());
+        }
+
+        public int size() {
+            return this.cells.size();
+        }
+    }
+
+    public static class Cell {
+        private final String text;
+        private final Map<String, String> attributes;
+        private final WebElement element;
+
+        Cell(String text, Map<String, String> attributes, WebElement element) {
+            this.text = text;
+            this.attributes = attributes;
+            this.element = element;
+        }
+
+        public String getText() {
+            return this.text;
+        }
+
+        public String getAttribute(String name) {
+            return this.attributes.get(name);
+        }
+
+        public Map<String, String> getAttributes() {
+            return this.attributes;
+        }
+
+        /**
+         * The live element, only available if the snapshot was taken with elements.
+         */
+        public WebElement getElement() {
+            return this.element;
+        }
+    }
+
+    /**
+     * Converts the structure returned by {@link BrowserScripts#TABLE_SNAPSHOT}.
+     */
+    @SuppressWarnings("unchecked")
+    static TableSnapshot fromScript(Object result) {
+        List<Row> rows = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object r : (List<Object>) result) {
+                Map<String, Object> row = (Map<String, Object>) r;
+                List<Cell> cells = new ArrayList<>();
+                for (Object c : (List<Object>) row.get("cells")) {
+                    Map<String, Object> cell = (Map<String, Object>) c;
+                    cells.add(new Cell( //
+                            (String) cell.get("text"), //
+                            TableSnapshot.toAttributes(cell.get("attributes")), //
+                            (WebElement) cell.get("element")));
+                }
+                rows.add(new Row(TableSnapshot.toAttributes(row.get("attributes")),
+                        Collections.unmodifiableList(cells)));
+            }
+        }
+        return new TableSnapshot(Collections.unmodifiableList(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> toAttributes(Object attributes) {
+        if (attributes == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap((Map<String, String>) attributes);
+    }
+
+    private final List<Row> rows;
+
+    TableSnapshot(List<Row> rows) {
+        this.rows = rows;
+    }
+
+    public Row getRow(int index) {
+        return this.rows.get(index);
+    }
+
+    public List<Row> getRows() {
+        return this.rows;
+    }
+
+    public String getText(int row, int cell) {
+        return this.rows.get(row).getCell(cell).getText();
+    }
+
+    /**
+     * All cell texts, row by row.
+     */
+    public List<List<String>> getTexts() {
+        return this.rows.stream().map(Row::getTexts).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return this.rows.size();
+    }
+}
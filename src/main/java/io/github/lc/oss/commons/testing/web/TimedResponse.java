@@ -0,0 +1,100 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Response wrapper that counts the body bytes as they are read and reports the
+ * exchange's timings once the response is closed.
+ */
+class TimedResponse implements ClientHttpResponse {
+    interface Listener {
+        /**
+         * @param status         response status, 0 if it could not be read
+         * @param firstByteNanos time from sending the request until the response
+         *                       status and headers were received
+         * @param totalNanos     time from sending the request until the response
+         *                       was closed
+         * @param bytes          response body bytes read
+         */
+        void completed(int status, long firstByteNanos, long totalNanos, long bytes);
+    }
+
+    private final ClientHttpResponse delegate;
+    private final long start;
+    private final long firstByte;
+    private final Listener listener;
+    private final LongAdder read = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private InputStream body;
+
+    TimedResponse(ClientHttpResponse delegate, long start, long firstByte, Listener listener) {
+        this.delegate = delegate;
+        this.start = start;
+        this.firstByte = firstByte;
+        this.listener = listener;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (this.body == null) {
+            this.body = new FilterInputStream(this.delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        TimedResponse.this.read.increment();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        TimedResponse.this.read.add(n);
+                    }
+                    return n;
+                }
+            };
+        }
+        return this.body;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return this.delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return this.delegate.getStatusText();
+    }
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            long end = System.nanoTime();
+            int status;
+            try {
+                status = this.delegate.getStatusCode().value();
+            } catch (IOException ex) {
+                status = 0;
+            }
+            this.delegate.close();
+            this.listener.completed(status, this.firstByte - this.start, end - this.start, this.read.sum());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package io.github.lc.oss.commons.testing.web;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +67,16 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
     @Test
     public void test_expectFieldVar() {
         this.test.expectFieldVar("id");
+        this.test.expectFieldVar("other");
+        this.test.expectMessage(new TestMessage());
+
+        Assertions.assertEquals(1, Mockito.mockingDetails(this.l10n).getStubbings().size());
+        Assertions.assertEquals("id-value", this.l10n.getText(Locale.ENGLISH, "id"));
+        Assertions.assertEquals("other-value", this.l10n.getText(Locale.ENGLISH, "other"));
+        Assertions.assertEquals("messages.Application.Error.-1009-value",
+                this.l10n.getText(Locale.ENGLISH, "messages.Application.Error.-1009"));
+        Assertions.assertNull(this.l10n.getText(Locale.FRENCH, "id"));
+        this.test.assertExpectedTextsUsed();
     }
 
     @Test
@@ -72,6 +84,80 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
         Message m = new TestMessage();
 
         this.test.expectMessage(m);
+
+        Assertions.assertEquals("messages.Application.Error.-1009-value",
+                this.l10n.getText(Locale.ENGLISH, "messages.Application.Error.-1009"));
+        Assertions.assertNull(this.l10n.getText(Locale.FRENCH, "messages.Application.Error.-1009"));
+        this.test.assertExpectedTextsUsed();
+    }
+
+    @Test
+    public void test_expectMessage_unexpectedId() {
+        this.test.expectMessage(new TestMessage());
+
+        this.assertUnexpected(this.l10n, "messages.Application.Error.1");
+    }
+
+    @Test
+    public void test_expectMessage_unused() {
+        this.test.expectMessage(new TestMessage());
+        this.test.expectFieldVar("id");
+        this.test.expectFieldVar("other");
+        Assertions.assertEquals("other-value", this.l10n.getText(Locale.ENGLISH, "other"));
+
+        try {
+            this.test.assertExpectedTextsUsed();
+            Assertions.fail("Expected Exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Expected L10N lookups were not made: messages.Application.Error.-1009, id",
+                    ex.getMessage());
+        }
+
+        /* reported once */
+        this.test.assertExpectedTextsUsed();
+    }
+
+    @Test
+    public void test_expectMessage_singleStub() {
+        for (int i = 0; i < 100; i++) {
+            this.test.expectMessage(this.message(i, null));
+        }
+
+        Assertions.assertEquals(1, Mockito.mockingDetails(this.l10n).getStubbings().size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals("messages.Application.Error." + i + "-value",
+                    this.l10n.getText(Locale.ENGLISH, "messages.Application.Error." + i));
+        }
+        this.test.assertExpectedTextsUsed();
+    }
+
+    @Test
+    public void test_expectMessage_mockReplaced() {
+        this.test.expectMessage(this.message(1, null));
+        Assertions.assertEquals("messages.Application.Error.1-value",
+                this.l10n.getText(Locale.ENGLISH, "messages.Application.Error.1"));
+
+        L10N replacement = Mockito.mock(L10N.class);
+        this.setField("l10n", replacement, this.test);
+        this.test.expectMessage(this.message(2, null));
+
+        this.assertUnexpected(replacement, "messages.Application.Error.1");
+        Assertions.assertEquals("messages.Application.Error.2-value",
+                replacement.getText(Locale.ENGLISH, "messages.Application.Error.2"));
+
+        /* the old mock keeps answering from its own expectations */
+        Assertions.assertEquals("messages.Application.Error.1-value",
+                this.l10n.getText(Locale.ENGLISH, "messages.Application.Error.1"));
+        this.assertUnexpected(this.l10n, "messages.Application.Error.2");
+        this.test.assertExpectedTextsUsed();
+    }
+
+    @Test
+    public void test_getMessageId() {
+        String id = this.test.getMessageId(new TestMessage());
+        Assertions.assertEquals("messages.Application.Error.-1009", id);
+        Assertions.assertEquals(id, this.test.getMessageId(new TestMessage()));
+        Assertions.assertEquals("messages.Application.Error.1", this.test.getMessageId(this.message(1, null)));
     }
 
     @Test
@@ -150,7 +236,8 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
             this.test.assertMessages(new ArrayList<>(), Arrays.asList(new TestMessage()));
             Assertions.fail("Expected Exception");
         } catch (AssertionFailedError ex) {
-            Assertions.assertEquals("expected: <0> but was: <1>", ex.getMessage());
+            Assertions.assertEquals("Messages do not match (0 missing, 1 unexpected, 0 wrong text)\n" + //
+                    "  unexpected: Application.Error.-1009", ex.getMessage());
         }
     }
 
@@ -170,7 +257,9 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
             }), Arrays.asList(new TestMessage()));
             Assertions.fail("Expected Exception");
         } catch (AssertionFailedError ex) {
-            Assertions.assertEquals("expected: not <null>", ex.getMessage());
+            Assertions.assertEquals("Messages do not match (1 missing, 1 unexpected, 0 wrong text)\n" + //
+                    "  missing: Other.Error.-1009\n" + //
+                    "  unexpected: Application.Error.-1009", ex.getMessage());
         }
     }
 
@@ -185,7 +274,9 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
             }), Arrays.asList(new TestMessage()));
             Assertions.fail("Expected Exception");
         } catch (AssertionFailedError ex) {
-            Assertions.assertEquals("expected: not <null>", ex.getMessage());
+            Assertions.assertEquals("Messages do not match (1 missing, 1 unexpected, 0 wrong text)\n" + //
+                    "  missing: Application.Success.-1009\n" + //
+                    "  unexpected: Application.Error.-1009", ex.getMessage());
         }
     }
 
@@ -200,7 +291,9 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
             }), Arrays.asList(new TestMessage()));
             Assertions.fail("Expected Exception");
         } catch (AssertionFailedError ex) {
-            Assertions.assertEquals("expected: not <null>", ex.getMessage());
+            Assertions.assertEquals("Messages do not match (1 missing, 1 unexpected, 0 wrong text)\n" + //
+                    "  missing: Application.Error.9001\n" + //
+                    "  unexpected: Application.Error.-1009", ex.getMessage());
         }
     }
 
@@ -208,4 +301,68 @@ public class AbstractLocaleMockTestTest extends AbstractTest {
     public void test_assertMessages_matching() {
         this.test.assertMessages(Arrays.asList(new TestMessage()), Arrays.asList(new TestMessage()));
     }
+
+    @Test
+    public void test_assertMessages_bulk() {
+        List<Message> expected = new ArrayList<>();
+        List<Message> actual = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(this.message(i, null));
+            actual.add(this.message(999 - i, null));
+        }
+
+        this.test.assertMessages(expected, actual);
+    }
+
+    @Test
+    public void test_assertMessages_fullDiff() {
+        List<Message> expected = Arrays.asList( //
+                this.message(1, null), //
+                this.message(1, null), //
+                this.message(2, null), //
+                this.message(3, null), //
+                this.message(4, null));
+        List<Message> actual = Arrays.asList( //
+                this.message(5, null), //
+                this.message(1, null), //
+                this.message(3, "junk"), //
+                this.message(4, null), //
+                this.message(6, null));
+
+        try {
+            this.test.assertMessages(expected, actual);
+            Assertions.fail("Expected Exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Messages do not match (2 missing, 2 unexpected, 1 wrong text)\n" + //
+                    "  missing: Application.Error.1\n" + //
+                    "  missing: Application.Error.2\n" + //
+                    "  unexpected: Application.Error.5\n" + //
+                    "  unexpected: Application.Error.6\n" + //
+                    "  text: Application.Error.3 expected 'messages.Application.Error.3-value' but was 'junk'",
+                    ex.getMessage());
+        }
+    }
+
+    private void assertUnexpected(L10N mock, String id) {
+        try {
+            mock.getText(Locale.ENGLISH, id);
+            Assertions.fail("Expected Exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Unexpected L10N lookup: " + id, ex.getMessage());
+        }
+    }
+
+    private Message message(int number, String text) {
+        return new TestMessage() {
+            @Override
+            public int getNumber() {
+                return number;
+            }
+
+            @Override
+            public String getText() {
+                return text == null ? super.getText() : text;
+            }
+        };
+    }
 }
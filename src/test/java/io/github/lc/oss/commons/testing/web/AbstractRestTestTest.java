@@ -1,9 +1,11 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +52,9 @@ public class AbstractRestTestTest extends AbstractMockTest {
         Mockito.when(this.restService.callJson(null, null, null, null, null)).thenReturn(null);
         Assertions.assertNull(this.test.callJson(null, null, null, null, null));
 
+        Mockito.when(this.restService.callJson(null, null, null, null, null, (Duration) null)).thenReturn(null);
+        Assertions.assertNull(this.test.callJson(null, null, null, null, null, (Duration) null));
+
         Mockito.when(this.restService.fromJson(null)).thenReturn(null);
         Assertions.assertNull(this.test.fromJson(null));
 
@@ -65,6 +70,12 @@ public class AbstractRestTestTest extends AbstractMockTest {
         Mockito.when(this.restService.getJson(null, null, HttpStatus.NO_CONTENT)).thenReturn(null);
         Assertions.assertNull(this.test.getJson(null, null, HttpStatus.NO_CONTENT));
 
+        Mockito.when(this.restService.getJson(null, (Duration) null)).thenReturn(null);
+        Assertions.assertNull(this.test.getJson(null, (Duration) null));
+
+        Mockito.when(this.restService.getJson(null, null, HttpStatus.NO_CONTENT, null)).thenReturn(null);
+        Assertions.assertNull(this.test.getJson(null, null, HttpStatus.NO_CONTENT, null));
+
         Mockito.when(this.restService.postJson(null, null)).thenReturn(null);
         Assertions.assertNull(this.test.postJson(null, null));
 
@@ -74,6 +85,9 @@ public class AbstractRestTestTest extends AbstractMockTest {
         Mockito.when(this.restService.postJson(null, null, null, null)).thenReturn(null);
         Assertions.assertNull(this.test.postJson(null, null, null, null));
 
+        Mockito.when(this.restService.postJson(null, null, null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.postJson(null, null, null, null, null));
+
         Mockito.when(this.restService.putJson(null, null)).thenReturn(null);
         Assertions.assertNull(this.test.putJson(null, null));
 
@@ -94,6 +108,45 @@ public class AbstractRestTestTest extends AbstractMockTest {
 
         Mockito.when(this.restService.toJson(null)).thenReturn(null);
         Assertions.assertNull(this.test.toJson(null));
+
+        Mockito.when(this.restService.await(null)).thenReturn(null);
+        Assertions.assertNull(this.test.await(null));
+
+        Mockito.when(this.restService.awaitAll(null)).thenReturn(null);
+        Assertions.assertNull(this.test.awaitAll(null));
+
+        Mockito.when(this.restService.callAsync(null, null, null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.callAsync(null, null, null, null, null));
+
+        Mockito.when(this.restService.callJsonAsync(null, null, null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.callJsonAsync(null, null, null, null, null));
+
+        Mockito.when(this.restService.getJsonAsync(null)).thenReturn(null);
+        Assertions.assertNull(this.test.getJsonAsync(null));
+
+        Mockito.when(this.restService.getJsonAsync(null, HttpStatus.NO_CONTENT)).thenReturn(null);
+        Assertions.assertNull(this.test.getJsonAsync(null, HttpStatus.NO_CONTENT));
+
+        Mockito.when(this.restService.getJsonAsync(null, null, HttpStatus.NO_CONTENT)).thenReturn(null);
+        Assertions.assertNull(this.test.getJsonAsync(null, null, HttpStatus.NO_CONTENT));
+
+        Mockito.when(this.restService.postJsonAsync(null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.postJsonAsync(null, null));
+
+        Mockito.when(this.restService.postJsonAsync(null, null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.postJsonAsync(null, null, null, null));
+
+        Mockito.when(this.restService.putJsonAsync(null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.putJsonAsync(null, null));
+
+        Mockito.when(this.restService.putJsonAsync(null, null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.putJsonAsync(null, null, null, null));
+
+        Mockito.when(this.restService.deleteJsonAsync(null)).thenReturn(null);
+        Assertions.assertNull(this.test.deleteJsonAsync(null));
+
+        Mockito.when(this.restService.deleteJsonAsync(null, null, null)).thenReturn(null);
+        Assertions.assertNull(this.test.deleteJsonAsync(null, null, null));
     }
 
     @Test
@@ -267,6 +320,155 @@ public class AbstractRestTestTest extends AbstractMockTest {
         }
     }
 
+    @Test
+    public void test_assertJsonPath() {
+        JsonObject i1 = new JsonObject();
+        i1.put("status", "A");
+        JsonObject i2 = new JsonObject();
+        i2.put("status", "B");
+        JsonObject data = new JsonObject();
+        data.put("items", Arrays.asList(i1, i2));
+        JsonObject object = new JsonObject();
+        object.put("data", data);
+
+        List<String> statuses = this.test.assertJsonPath(object, "$.data.items[*].status");
+        Assertions.assertEquals(Arrays.asList("A", "B"), statuses);
+        this.test.assertJsonPath(object, "$.data.items[0].status", "A");
+        this.test.assertJsonPath(object, "$.data.items[-1].status", TestEnum.B);
+        this.test.assertJsonPathCount(object, "$.data.items[*]", 2);
+        this.test.assertJsonPathCount(object, "$.data.junk", 0);
+
+        try {
+            this.test.assertJsonPath(null, "$.data");
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Object cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonPath(object, "$.data.junk");
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("$.data.junk not found ==> expected: <false> but was: <true>", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonPath(object, "$.data", null);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonPath(object, "$.data.items[*].status", "A");
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("$.data.items[*].status (match 1) ==> expected: <A> but was: <B>",
+                    ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonPathCount(object, "$.data.items[*]", 1);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("$.data.items[*] ==> expected: <1> but was: <2>", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonPathCount(null, "$.data", 1);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Object cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_assertJsonMessages() {
+        JsonObject body = new JsonObject();
+        List<JsonObject> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            JsonObject m = new JsonObject();
+            m.put("category", "C");
+            m.put("severity", "S");
+            m.put("number", i);
+            m.put("text", "message " + i);
+            messages.add(m);
+        }
+        body.putValue("messages", messages);
+
+        JsonMessage[] expected = new JsonMessage[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = new JsonMessage("C", "S", i, i % 2 == 0 ? "message " + i : null);
+        }
+        this.test.assertJsonMessages(body, expected);
+
+        this.test.assertJsonMessage(body, "C", "S", 999);
+
+        try {
+            this.test.assertJsonMessages(body, new JsonMessage("C", "S", 1), new JsonMessage("C", "S", 1000),
+                    new JsonMessage("C", "S", 2, "junk"));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("2 of 3 messages not found: C.S.1000, C.S.2 'junk'", ex.getMessage());
+        }
+
+        /* changes to the array are always seen, even when its size stays the same */
+        JsonObject m = new JsonObject();
+        m.put("category", "C");
+        m.put("severity", "S");
+        m.put("number", 1000);
+        messages.set(0, m);
+        this.test.assertJsonMessages(body, new JsonMessage("C", "S", 1000));
+        try {
+            this.test.assertJsonMessages(body, new JsonMessage("C", "S", 0));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("1 of 1 messages not found: C.S.0", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonMessages(new JsonObject(), new JsonMessage("C", "S", 1));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected: not <null>", ex.getMessage());
+        }
+
+        try {
+            this.test.assertJsonMessages(null, new JsonMessage("C", "S", 1));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected: not <null>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_runLoad() {
+        AtomicInteger count = new AtomicInteger();
+
+        LoadTestResult result = this.test.runLoad(2, 5, () -> count.incrementAndGet());
+        Assertions.assertEquals(10, result.getIterations());
+        this.test.assertLoadErrorRate(result, 0);
+
+        result = this.test.runLoad(2, Duration.ofMillis(10), () -> Assertions.fail("boom"));
+        Assertions.assertEquals(1.0, result.getErrorRate());
+        this.test.assertLoadErrorRate(result, 1.0);
+
+        try {
+            this.test.assertLoadErrorRate(result, 0.5);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("Error rate 100.00% exceeds 50.00%"));
+            Assertions.assertTrue(ex.getMessage().contains("AssertionFailedError: boom"));
+        }
+
+        try {
+            this.test.assertLoadErrorRate(null, 0.5);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Result cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+    }
+
     @Test
     public void test_assertJsonArray() {
         JsonObject object = new JsonObject();
@@ -3,9 +3,16 @@ package io.github.lc.oss.commons.testing.web;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 
@@ -19,15 +26,21 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriver.Timeouts;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.DevTools;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
@@ -93,6 +106,23 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         }
     }
 
+    @Test
+    public void test_getExpectedErrorMatcher() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("loggingPrefix", "[app-name]", test);
+
+        ExpectedErrorMatcher matcher = test.getExpectedErrorMatcher();
+        Assertions.assertSame(matcher, test.getExpectedErrorMatcher());
+        Assertions.assertTrue(matcher.matches("x [app-name] y"));
+        Assertions.assertFalse(matcher.matches("Boom!"));
+
+        /* a new set of expected errors recompiles the matcher */
+        test.defaultExpectedErrors = new HashSet<>(Arrays.asList("regex:^Bo+m"));
+        ExpectedErrorMatcher other = test.getExpectedErrorMatcher();
+        Assertions.assertNotSame(matcher, other);
+        Assertions.assertTrue(other.matches("Boom!"));
+    }
+
     @Test
     public void test_getChromiumOptions() {
         AbstractSeleniumTest test = new TestClass();
@@ -181,6 +211,94 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         }
     }
 
+    @Test
+    public void test_checkLogs_capture() {
+        TestInfo testInfo = Mockito.mock(TestInfo.class);
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("loggingPrefix", "[App]", test);
+        ConsoleCapture capture = new ConsoleCapture(1);
+        capture.configure(e -> e.contains("[App]"), e -> e.contains("[App]") || e.contains("409"), "[App] [ERROR]",
+                false);
+        this.setField("consoleCapture", capture, test);
+
+        capture.add("info", "[App] [INFO] fine");
+        capture.add("info", "status of 409");
+        test.checkLogs(testInfo);
+        Mockito.verify(test.getDriver(), Mockito.never()).manage();
+
+        capture.add("error", "Boom!");
+        capture.add("error", "Bang!");
+        try {
+            test.checkLogs(testInfo);
+            Assertions.fail("Expected error");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Browser errors detected during null:\nBang!\n... and 1 more ==> expected: <true> but was: <false>",
+                    ex.getMessage());
+        }
+
+        capture.clear();
+        capture.add("error", "[App] [ERROR] broken");
+        try {
+            test.checkLogs(testInfo);
+            Assertions.fail("Expected error");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Application errors detected during null ==> expected: <false> but was: <true>",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_startConsoleCapture() {
+        AbstractSeleniumTest test = new TestClass();
+        ChromeDriver driver = (ChromeDriver) test.getDriver();
+
+        test.startConsoleCapture();
+        Assertions.assertNull(test.getConsoleCapture());
+        test.assertNoConsoleFailure();
+
+        this.setField("consoleCaptureEnabled", true, test);
+        Mockito.when(driver.maybeGetDevTools()).thenReturn(Optional.empty());
+        test.startConsoleCapture();
+        Assertions.assertNull(test.getConsoleCapture());
+
+        DevTools devTools = Mockito.mock(DevTools.class);
+        Mockito.when(driver.maybeGetDevTools()).thenReturn(Optional.of(devTools));
+        this.setField("loggingPrefix", "[App]", test);
+        test.startConsoleCapture();
+        ConsoleCapture capture = test.getConsoleCapture();
+        Assertions.assertNotNull(capture);
+
+        capture.add("info", "[App] [ERROR] x");
+        capture.add("info", "Failed to load resource: the server responded with a status of 409");
+        capture.add("error", "Boom!");
+        Assertions.assertEquals(1, capture.getApplicationErrorCount());
+        Assertions.assertEquals(1, capture.getUnexpectedCount());
+
+        /* the matcher is resolved once when capture starts, not per message */
+        test.defaultExpectedErrors = new HashSet<>(Arrays.asList("regex:^Bo+m"));
+        capture.add("error", "Boom!");
+        Assertions.assertEquals(2, capture.getUnexpectedCount());
+    }
+
+    @Test
+    public void test_waitUntil_failFast() {
+        AbstractSeleniumTest test = new TestClass();
+        ConsoleCapture capture = new ConsoleCapture(10);
+        capture.configure(e -> true, e -> true, "[ERROR]", true);
+        this.setField("consoleCapture", capture, test);
+
+        Assertions.assertEquals(Boolean.TRUE, test.waitUntil(d -> true));
+
+        capture.add("error", "[ERROR] broken");
+        try {
+            test.waitUntil(d -> false);
+            Assertions.fail("Expected error");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Application error logged: [ERROR] broken", ex.getMessage());
+        }
+    }
+
     @Test
     public void test_assertById() {
         AbstractSeleniumTest test = new TestClass();
@@ -280,6 +398,127 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         Assertions.assertSame(element, result);
     }
 
+    @Test
+    public void test_findById_push() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("pushWaits", true, test);
+
+        WebElement element = Mockito.mock(WebElement.class);
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "id",
+                "id", true, 15000)).thenReturn(element);
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "css",
+                "div.x", false, 15000)).thenReturn(element);
+
+        Assertions.assertSame(element, test.findById("id"));
+        Assertions.assertSame(element, test.assertByCssSelector("div.x", false));
+        Mockito.verify(test.getDriver(), Mockito.never()).findElement(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_waitForElement_timeout() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("pushWaits", true, test);
+
+        try {
+            test.findById("id", false);
+            Assertions.fail("Expected exception");
+        } catch (TimeoutException ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("Waited 15 seconds for present element by id: id"));
+        }
+    }
+
+    @Test
+    public void test_waitForElement_retry() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("retryCount", 1, test);
+
+        WebElement element = Mockito.mock(WebElement.class);
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "css",
+                "div", true, 15000)).thenReturn(null);
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "css",
+                "div", true, 5000)).thenReturn(element);
+
+        Assertions.assertSame(element, test.waitForElement("css", "div", true));
+    }
+
+    @Test
+    public void test_waitForElement_navigated() {
+        AbstractSeleniumTest test = new TestClass();
+
+        WebElement element = Mockito.mock(WebElement.class);
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        Mockito.when(js.executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_ELEMENT), ArgumentMatchers.eq("id"),
+                ArgumentMatchers.eq("next"), ArgumentMatchers.eq(true), ArgumentMatchers.anyInt())). //
+                thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result")). //
+                thenThrow(new StaleElementReferenceException("stale element reference")). //
+                thenReturn(element);
+
+        Assertions.assertSame(element, test.waitForElement("id", "next", true, 15, 0));
+        Mockito.verify(js, Mockito.times(1)).executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "id", "next", true,
+                15000);
+        Mockito.verify(js, Mockito.times(3)).executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_ELEMENT),
+                ArgumentMatchers.eq("id"), ArgumentMatchers.eq("next"), ArgumentMatchers.eq(true),
+                ArgumentMatchers.intThat(t -> t > 0 && t <= 15000));
+    }
+
+    @Test
+    public void test_waitForElement_navigated_timeout() {
+        AbstractSeleniumTest test = new TestClass();
+
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        Mockito.when(js.executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_ELEMENT), ArgumentMatchers.eq("id"),
+                ArgumentMatchers.eq("next"), ArgumentMatchers.eq(true), ArgumentMatchers.anyInt()))
+                .thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result"));
+
+        try {
+            test.waitForElement("id", "next", true, 0, 0);
+            Assertions.fail("Expected exception");
+        } catch (TimeoutException ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("Waited 0 seconds for clickable element by id: next"));
+        }
+    }
+
+    @Test
+    public void test_waitForElement_scriptError() {
+        AbstractSeleniumTest test = new TestClass();
+
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        Mockito.when(js.executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "css", "[", true, 15000))
+                .thenThrow(new JavascriptException("invalid selector: An invalid or illegal selector was specified"));
+
+        try {
+            test.waitForElement("css", "[", true, 15, 0);
+            Assertions.fail("Expected exception");
+        } catch (JavascriptException ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("invalid selector"));
+        }
+        Mockito.verify(js, Mockito.times(1)).executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_ELEMENT),
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_waitForElement_scriptTimeout() {
+        AbstractSeleniumTest test = new TestClass();
+        Options options = Mockito.mock(Options.class);
+        Timeouts timeouts = Mockito.mock(Timeouts.class);
+        Mockito.when(test.getDriver().manage()).thenReturn(options);
+        Mockito.when(options.timeouts()).thenReturn(timeouts);
+
+        WebElement element = Mockito.mock(WebElement.class);
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        Mockito.when(js.executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_ELEMENT), ArgumentMatchers.eq("id"),
+                ArgumentMatchers.eq("next"), ArgumentMatchers.eq(true), ArgumentMatchers.anyInt())).thenReturn(element);
+
+        /* within the driver's default, nothing to change */
+        Assertions.assertSame(element, test.waitForElement("id", "next", true, 15, 0));
+        Mockito.verify(options, Mockito.never()).timeouts();
+
+        /* longer waits raise the script timeout once */
+        Assertions.assertSame(element, test.waitForElement("id", "next", true, 40, 0));
+        Assertions.assertSame(element, test.waitForElement("id", "next", true, 40, 0));
+        Mockito.verify(timeouts, Mockito.times(1)).scriptTimeout(Duration.ofMillis(45000));
+    }
+
     @Test
     public void test_navigate() {
         AbstractSeleniumTest test = new TestClass();
@@ -301,6 +540,55 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         test.waitForNavigate("/index");
     }
 
+    @Test
+    public void test_waitFornavigate_idle() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("idleDetection", true, test);
+        this.setField("idleQuietPeriod", 50, test);
+
+        Mockito.when(test.getDriver().getCurrentUrl()).thenReturn("/index");
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_IDLE, 50,
+                15000)).thenReturn(true);
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeScript("return $$._inProgress.IsRunning();"))
+                .thenReturn(false);
+
+        long start = System.currentTimeMillis();
+        test.waitForNavigate("/index");
+        Assertions.assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void test_waitForIdle_timeout() {
+        AbstractSeleniumTest test = new TestClass();
+
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeAsyncScript(BrowserScripts.WAIT_FOR_IDLE, 0,
+                500)).thenReturn(false);
+
+        try {
+            test.waitForIdle(500);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Page did not become idle within 500ms", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_prepareDriver() {
+        AbstractSeleniumTest test = new TestClass();
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+        WebDriver other = Mockito.mock(WebDriver.class);
+
+        test.prepareDriver(driver);
+        Mockito.verifyNoInteractions(driver);
+
+        this.setField("idleDetection", true, test);
+        test.prepareDriver(other);
+        test.prepareDriver(driver);
+        Mockito.verify(driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Collections.singletonMap("source", BrowserScripts.IDLE_TRACKER));
+        Mockito.verifyNoInteractions(other);
+    }
+
     @Test
     public void test_waitForScipt_string() {
         AbstractSeleniumTest test = new TestClass();
@@ -359,6 +647,91 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         test.assertTextContentContains(element, "alu");
     }
 
+    @Test
+    public void test_assertText_push() {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("pushWaits", true, test);
+
+        WebElement element = Mockito.mock(WebElement.class);
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        Mockito.when(js.executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_TEXT), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.eq(15000)))
+                .thenReturn(Arrays.asList(true, "value"));
+
+        test.assertTextContent("id", "value");
+        test.assertTextContent(element, "value");
+        test.assertTextContentContains(element, "alu");
+        test.assertTextValue("id", "value");
+        test.assertTextValue(element, "value");
+        test.assertTextValueContains(element, "al");
+
+        Mockito.verify(js).executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, "id", "text", "value", false, 15000);
+        Mockito.verify(js).executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, element, "text", "alu", true, 15000);
+        Mockito.verify(js).executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, "id", "value", "value", false, 15000);
+        Mockito.verify(js).executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, element, "value", "al", true, 15000);
+        Mockito.verify(element, Mockito.never()).getText();
+        Mockito.verify(test.getDriver(), Mockito.never()).findElement(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_waitForText_navigated() {
+        AbstractSeleniumTest test = new TestClass();
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+
+        Mockito.when(js.executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_TEXT), ArgumentMatchers.eq("id"),
+                ArgumentMatchers.eq("text"), ArgumentMatchers.eq("a"), ArgumentMatchers.eq(false),
+                ArgumentMatchers.anyInt())). //
+                thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result")). //
+                thenReturn(Arrays.asList(true, "a"));
+
+        test.waitForText("id", "text", "a", false);
+    }
+
+    @Test
+    public void test_waitForText_staleElement() {
+        AbstractSeleniumTest test = new TestClass();
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+        WebElement element = Mockito.mock(WebElement.class);
+
+        Mockito.when(js.executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, element, "text", "a", false, 15000))
+                .thenThrow(new StaleElementReferenceException("stale element reference"));
+
+        try {
+            test.waitForText(element, "text", "a", false);
+            Assertions.fail("Expected exception");
+        } catch (StaleElementReferenceException ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("stale element reference"));
+        }
+        Mockito.verify(js, Mockito.times(1)).executeAsyncScript(ArgumentMatchers.eq(BrowserScripts.WAIT_FOR_TEXT),
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_waitForText_fail() {
+        AbstractSeleniumTest test = new TestClass();
+        JavascriptExecutor js = (JavascriptExecutor) test.getDriver();
+
+        Mockito.when(js.executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, "id", "text", "a", false, 15000))
+                .thenReturn(Arrays.asList(false, "b"));
+
+        try {
+            test.waitForText("id", "text", "a", false);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Waited 15 seconds for text equal to 'a' but was 'b'", ex.getMessage());
+            Assertions.assertEquals("a", ex.getExpected().getValue());
+            Assertions.assertEquals("b", ex.getActual().getValue());
+        }
+
+        try {
+            test.waitForText("id", "value", "a", true);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Waited 15 seconds for value containing 'a' but was 'null'", ex.getMessage());
+        }
+    }
+
     @Test
     public void test_assertTextValue() {
         AbstractSeleniumTest test = new TestClass();
@@ -485,6 +858,28 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         Assertions.assertSame(cell, c);
     }
 
+    @Test
+    public void test_snapshotTable() {
+        AbstractSeleniumTest test = new TestClass();
+
+        WebElement table = Mockito.mock(WebElement.class);
+        Mockito.when(test.getDriver().findElement(By.id("id"))).thenReturn(table);
+        Mockito.when(table.isDisplayed()).thenReturn(true);
+        Mockito.when(table.isEnabled()).thenReturn(true);
+
+        Map<String, Object> cell = new HashMap<>();
+        cell.put("text", "value");
+        Map<String, Object> row = new HashMap<>();
+        row.put("cells", Arrays.asList(cell));
+        Mockito.when(((JavascriptExecutor) test.getDriver()).executeScript(BrowserScripts.TABLE_SNAPSHOT, table, false))
+                .thenReturn(Arrays.asList(row));
+
+        TableSnapshot result = test.snapshotTable("id");
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("value", result.getText(0, 0));
+        Mockito.verify(table, Mockito.never()).findElements(ArgumentMatchers.any());
+    }
+
     @Test
     public void test_focusById() {
         AbstractSeleniumTest test = new TestClass();
@@ -547,6 +942,21 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         test.screenShot(this.getScreenShotName());
     }
 
+    @Test
+    public void test_screenShot_async() throws IOException {
+        AbstractSeleniumTest test = new TestClass();
+        this.setField("screenShotPath", this.getScreenShotPath(), test);
+        this.setField("asyncScreenShots", true, test);
+        this.setField("screenShotFormat", "png", test);
+
+        Mockito.when(((ChromeDriver) test.getDriver()).getScreenshotAs(OutputType.BYTES))
+                .thenReturn(new byte[] { 0x00 });
+
+        test.screenShot(this.getScreenShotName());
+        Assertions.assertTrue(test.getScreenShotWriter().flush(5000));
+        Assertions.assertTrue(Files.exists(Paths.get(this.getScreenShotPath() + this.getScreenShotName() + ".png")));
+    }
+
     @Test
     public void test_scrollTo() {
         AbstractSeleniumTest test = new TestClass();
@@ -772,6 +1182,241 @@ public class AbstractSeleniumTestTest extends AbstractMockTest {
         Assertions.assertTrue(delta < 3000);
     }
 
+    @Test
+    public void test_launchChromium_reuse() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        AbstractSeleniumTest test = new AbstractSeleniumTest() {
+            @Override
+            protected WebDriver createDriver() {
+                return driver;
+            }
+        };
+
+        Assertions.assertEquals(ChromiumSessions.Scope.NONE, test.getSessionReuse());
+        Assertions.assertFalse(test.isSessionReused());
+        test.launchChromium();
+        Assertions.assertSame(driver, test.getDriver());
+
+        this.setField("sessionReuse", "class", test);
+        Assertions.assertEquals(ChromiumSessions.Scope.CLASS, test.getSessionReuse());
+        Assertions.assertTrue(test.isSessionReused());
+        try {
+            test.launchChromium();
+            Assertions.assertSame(driver, test.getDriver());
+            Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, test.getClass()));
+        } finally {
+            ChromiumSessions.close(test.getClass());
+        }
+        Mockito.verify(driver).quit();
+    }
+
+    @Test
+    public void test_resetSession() {
+        AbstractSeleniumTest test = new TestClass();
+        ChromeDriver driver = (ChromeDriver) test.getDriver();
+        TargetLocator locator = Mockito.mock(TargetLocator.class);
+
+        Mockito.when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>(Arrays.asList("main", "popup")));
+        Mockito.when(driver.switchTo()).thenReturn(locator);
+        Mockito.when(driver.executeScript(ArgumentMatchers.contains("localStorage.clear()")))
+                .thenReturn("https://app.local");
+        Mockito.when(driver.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap()))
+                .thenReturn(this.history("https://app.local/login", "http://Other.local:8080/x", "http://app.local:80/",
+                        "about:blank", "data:text/html,x", "https://app.local/home"));
+
+        test.releaseDriver();
+
+        Mockito.verify(locator).window("popup");
+        Mockito.verify(locator).window("main");
+        Mockito.verify(driver).close();
+        Mockito.verify(driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+        Map<String, Object> params = new HashMap<>();
+        params.put("storageTypes", "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems");
+        for (String origin : Arrays.asList("https://app.local", "http://other.local:8080", "http://app.local")) {
+            params.put("origin", origin);
+            Mockito.verify(driver).executeCdpCommand("Storage.clearDataForOrigin", params);
+        }
+        Mockito.verify(driver, Mockito.times(3)).executeCdpCommand(ArgumentMatchers.eq("Storage.clearDataForOrigin"),
+                ArgumentMatchers.anyMap());
+        Mockito.verify(driver).get("about:blank");
+    }
+
+    @Test
+    public void test_releaseDriver_resetFails() {
+        AbstractSeleniumTest test = new TestClass();
+        ChromeDriver driver = (ChromeDriver) test.getDriver();
+        this.setField("sessionReuse", "class", test);
+
+        Mockito.when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>());
+        Mockito.when(driver.executeScript(ArgumentMatchers.contains("localStorage.clear()")))
+                .thenReturn("https://app.local");
+        Mockito.when(driver.executeCdpCommand(ArgumentMatchers.eq("Storage.clearDataForOrigin"),
+                ArgumentMatchers.anyMap())).thenThrow(new WebDriverException("Invalid parameters"));
+
+        try {
+            test.releaseDriver();
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertTrue(
+                    ex.getMessage().startsWith("Unable to reset the reused browser, it was quit: Invalid parameters"));
+            Assertions.assertTrue(ex.getCause() instanceof WebDriverException);
+        }
+        Mockito.verify(driver, Mockito.never()).get("about:blank");
+    }
+
+    @Test
+    public void test_resetSession_opaqueOrigin() {
+        AbstractSeleniumTest test = new TestClass();
+        ChromeDriver driver = (ChromeDriver) test.getDriver();
+
+        Mockito.when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>());
+        Mockito.when(driver.executeScript(ArgumentMatchers.contains("localStorage.clear()"))).thenReturn("null");
+
+        test.resetSession();
+
+        Mockito.verify(driver, Mockito.never()).executeCdpCommand(ArgumentMatchers.eq("Storage.clearDataForOrigin"),
+                ArgumentMatchers.anyMap());
+        Mockito.verify(driver).get("about:blank");
+    }
+
+    @Test
+    public void test_resetSession_notChromium() {
+        WebDriver driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+        Options options = Mockito.mock(Options.class);
+        AbstractSeleniumTest test = new AbstractSeleniumTest() {
+            @Override
+            protected WebDriver getDriver() {
+                return driver;
+            }
+        };
+
+        Mockito.when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<>());
+        Mockito.when(driver.manage()).thenReturn(options);
+
+        test.resetSession();
+
+        Mockito.verify(options).deleteAllCookies();
+        Mockito.verify(driver).get("about:blank");
+    }
+
+    @Test
+    public void test_releaseDriver_broken() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        AbstractSeleniumTest test = new AbstractSeleniumTest() {
+            @Override
+            protected WebDriver createDriver() {
+                return driver;
+            }
+        };
+        this.setField("sessionReuse", "class", test);
+
+        Mockito.when(driver.getWindowHandles()).thenThrow(new WebDriverException("gone"));
+
+        test.launchChromium();
+        Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, test.getClass()));
+        try {
+            test.releaseDriver();
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("Unable to reset the reused browser, it was quit: gone"));
+        }
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, test.getClass()));
+        Mockito.verify(driver).quit();
+    }
+
+    @Test
+    public void test_launchChromium_pooled() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        List<Integer> ports = new ArrayList<>();
+        AbstractSeleniumTest test = new AbstractSeleniumTest() {
+            @Override
+            protected WebDriver createDriver(int port) {
+                ports.add(port);
+                return driver;
+            }
+
+            @Override
+            protected void resetSession() {
+            }
+        };
+        this.setField("poolSize", 1, test);
+        this.setField("poolPorts", "15000-15001", test);
+        this.setField("sessionReuse", "jvm", test);
+
+        Assertions.assertTrue(test.isPooled());
+        Assertions.assertTrue(test.isSessionReused());
+        ChromiumDriverPool pool = test.getDriverPool();
+        try {
+            test.launchChromium();
+            Assertions.assertSame(driver, test.getDriver());
+            test.releaseDriver();
+
+            test.launchChromium();
+            Assertions.assertSame(driver, test.getDriver());
+            Assertions.assertEquals(Arrays.asList(15000), ports);
+            Assertions.assertEquals(1, pool.getLaunched());
+            Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, test.getClass(),
+                    test.getDriverPoolOptions()));
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void test_getDriverPool_options() {
+        AbstractSeleniumTest test = new TestClass();
+        AbstractSeleniumTest same = new TestClass();
+        AbstractSeleniumTest other = new TestClass() {
+            @Override
+            protected ChromeOptions getChromiumOptions() {
+                ChromeOptions opts = super.getChromiumOptions();
+                opts.addArguments("--lang=fr");
+                return opts;
+            }
+        };
+        for (AbstractSeleniumTest t : Arrays.asList(test, same, other)) {
+            this.setField("poolSize", 1, t);
+            this.setField("poolPorts", "15200", t);
+        }
+
+        Assertions.assertSame(test.getDriverPool(), same.getDriverPool());
+        Assertions.assertNotSame(test.getDriverPool(), other.getDriverPool());
+    }
+
+    @Test
+    public void test_releaseDriver_pooledBroken() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        AbstractSeleniumTest test = new AbstractSeleniumTest() {
+            @Override
+            protected WebDriver createDriver(int port) {
+                return driver;
+            }
+        };
+        this.setField("poolSize", 1, test);
+        this.setField("poolPorts", "15100", test);
+
+        Mockito.when(driver.getWindowHandles()).thenThrow(new WebDriverException("gone"));
+
+        test.launchChromium();
+        try {
+            test.releaseDriver();
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("Unable to reset the reused browser, it was quit: gone"));
+        }
+
+        Mockito.verify(driver).quit();
+        Assertions.assertEquals(0, test.getDriverPool().getLaunched());
+    }
+
+    private Map<String, Object> history(String... urls) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (String url : urls) {
+            entries.add(Collections.singletonMap("url", url));
+        }
+        return Collections.singletonMap("entries", entries);
+    }
+
     @Test
     public void test_defaultWaitValues() {
         AbstractSeleniumTest test = new TestClass();
@@ -0,0 +1,36 @@
+package io.github.lc.oss.commons.testing.web;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ApacheRestTransportTest extends AbstractTest {
+    @Test
+    public void test_createRequestFactory() throws Exception {
+        ApacheRestTransport transport = new ApacheRestTransport();
+        RestService service = new RestService();
+
+        ClientHttpRequestFactory factory = transport.createRequestFactory(service);
+        Assertions.assertTrue(factory instanceof HttpComponentsClientHttpRequestFactory);
+        Assertions.assertNotSame(factory, transport.createRequestFactory(service));
+        ((HttpComponentsClientHttpRequestFactory) factory).destroy();
+    }
+
+    @Test
+    public void test_createConnectionConfig() {
+        ApacheRestTransport transport = new ApacheRestTransport();
+        RestService service = new RestService() {
+            @Override
+            public int getTimeout() {
+                return 1500;
+            }
+        };
+
+        ConnectionConfig config = transport.createConnectionConfig(service);
+        Assertions.assertEquals(1500, config.getConnectTimeout().toMilliseconds());
+    }
+}
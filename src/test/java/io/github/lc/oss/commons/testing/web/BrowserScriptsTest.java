@@ -0,0 +1,108 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class BrowserScriptsTest extends AbstractTest {
+    private static final int TIMEOUT = 5000;
+
+    private HtmlUnitDriver driver;
+
+    @BeforeEach
+    public void init() {
+        this.driver = new HtmlUnitDriver(true);
+        this.driver.manage().timeouts().scriptTimeout(Duration.ofMillis(BrowserScriptsTest.TIMEOUT * 2));
+        this.driver.get("about:blank");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.driver.quit();
+    }
+
+    @Test
+    public void test_waitForElement_visibleWithoutMutation() {
+        /* the element only becomes visible by style, no DOM change tells the wait */
+        this.driver.executeScript("" + //
+                "var target = document.createElement('button');\n" + //
+                "target.id = 'target';\n" + //
+                "target.appendChild(document.createTextNode('go'));\n" + //
+                "document.body.appendChild(target);\n" + //
+                "var original = window.getComputedStyle;\n" + //
+                "window.__shown = false;\n" + //
+                "window.getComputedStyle = function (el) {\n" + //
+                "  if (el.id === 'target' && !window.__shown) { return { visibility: 'visible', display: 'none' }; }\n" + //
+                "  return original.apply(window, arguments);\n" + //
+                "};\n" + //
+                "setTimeout(function () { window.__shown = true; }, 200);\n");
+
+        Object result = this.driver.executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "id", "target", true,
+                BrowserScriptsTest.TIMEOUT);
+        Assertions.assertTrue(result instanceof WebElement);
+        Assertions.assertEquals("target", ((WebElement) result).getAttribute("id"));
+    }
+
+    @Test
+    public void test_waitForElement_timeout() {
+        Object result = this.driver.executeAsyncScript(BrowserScripts.WAIT_FOR_ELEMENT, "id", "missing", true, 100);
+        Assertions.assertNull(result);
+    }
+
+    @Test
+    public void test_waitForText_singleLoop() {
+        /*
+         * Counts the re-check timers pending at once (the timeout timer is excluded)
+         * while 200 separate mutations happen before the text finally matches.
+         */
+        this.driver.executeScript("" + //
+                "var target = document.createElement('div');\n" + //
+                "target.id = 'target';\n" + //
+                "target.appendChild(document.createTextNode('start'));\n" + //
+                "document.body.appendChild(target);\n" + //
+                "var original = window.setTimeout, timeout = arguments[0];\n" + //
+                "window.__pending = 0; window.__maxPending = 0; window.__mutations = 0;\n" + //
+                "window.setTimeout = function (fn, delay) {\n" + //
+                "  if (delay === timeout) { return original(fn, delay); }\n" + //
+                "  window.__pending++;\n" + //
+                "  window.__maxPending = Math.max(window.__maxPending, window.__pending);\n" + //
+                "  return original(function () { window.__pending--; fn(); }, delay);\n" + //
+                "};\n" + //
+                "var mutate = function () {\n" + //
+                "  if (window.__mutations++ < 200) {\n" + //
+                "    document.body.appendChild(document.createElement('span'));\n" + //
+                "    original(mutate, 0);\n" + //
+                "  } else {\n" + //
+                "    target.firstChild.nodeValue = 'done';\n" + //
+                "  }\n" + //
+                "};\n" + //
+                "original(mutate, 0);\n", BrowserScriptsTest.TIMEOUT);
+
+        Object result = this.driver.executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, "target", "text", "done", false,
+                BrowserScriptsTest.TIMEOUT);
+        Assertions.assertEquals(Arrays.asList(true, "done"), result);
+        Assertions.assertTrue(((Number) this.driver.executeScript("return window.__mutations;")).intValue() > 200);
+        Assertions.assertEquals(1, ((Number) this.driver.executeScript("return window.__maxPending;")).intValue());
+    }
+
+    @Test
+    public void test_waitForText_timeout() {
+        this.driver.executeScript("" + //
+                "var target = document.createElement('input');\n" + //
+                "target.id = 'target';\n" + //
+                "target.value = 'start';\n" + //
+                "document.body.appendChild(target);\n");
+
+        Object result = this.driver.executeAsyncScript(BrowserScripts.WAIT_FOR_TEXT, "target", "value", "done", false,
+                100);
+        Assertions.assertEquals(Arrays.asList(false, "start"), result);
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ChromiumDriverPoolTest extends AbstractTest {
+    @Test
+    public void test_parsePorts() {
+        Assertions.assertEquals(Collections.emptyList(), ChromiumDriverPool.parsePorts(null));
+        Assertions.assertEquals(Collections.emptyList(), ChromiumDriverPool.parsePorts(" "));
+        Assertions.assertEquals(Arrays.asList(12000, 12001, 12002, 13000),
+                ChromiumDriverPool.parsePorts("12000-12002, 13000,,12001"));
+
+        try {
+            ChromiumDriverPool.parsePorts("12002-12000");
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Invalid port range: 12002-12000 ==> expected: <true> but was: <false>",
+                    ex.getMessage());
+        }
+
+        try {
+            ChromiumDriverPool.parsePorts("abc");
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Invalid port: abc", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_constructor_errors() {
+        try {
+            new ChromiumDriverPool(0, null);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Pool size must be greater than 0 ==> expected: <true> but was: <false>",
+                    ex.getMessage());
+        }
+
+        try {
+            new ChromiumDriverPool(3, Arrays.asList(1, 2));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Pool size 3 exceeds the number of configured ports (2) ==> expected: <true> but was: <false>",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_get() {
+        ChromiumDriverPool pool = ChromiumDriverPool.get(2, " 14000-14001 ");
+        Assertions.assertSame(pool, ChromiumDriverPool.get(2, "14000-14001"));
+        Assertions.assertNotSame(pool, ChromiumDriverPool.get(3, "14000-14002"));
+        Assertions.assertEquals(2, pool.getSize());
+
+        /* browsers launched with other options are never shared */
+        Assertions.assertSame(pool, ChromiumDriverPool.get(2, "14000-14001", null));
+        ChromiumDriverPool other = ChromiumDriverPool.get(2, "14000-14001", "--headless=new");
+        Assertions.assertNotSame(pool, other);
+        Assertions.assertSame(other, ChromiumDriverPool.get(2, "14000-14001", "--headless=new"));
+    }
+
+    @Test
+    public void test_lease_ports() {
+        ChromiumDriverPool pool = new ChromiumDriverPool(2, Arrays.asList(12000, 12001));
+        List<Integer> ports = new ArrayList<>();
+
+        WebDriver d1 = pool.lease(port -> {
+            ports.add(port);
+            return Mockito.mock(WebDriver.class);
+        });
+        WebDriver d2 = pool.lease(port -> {
+            ports.add(port);
+            return Mockito.mock(WebDriver.class);
+        });
+        Assertions.assertNotSame(d1, d2);
+        Assertions.assertEquals(Arrays.asList(12000, 12001), ports);
+        Assertions.assertEquals(2, pool.getLaunched());
+
+        /* released browsers are reused */
+        pool.release(d1);
+        Assertions.assertSame(d1, pool.lease(port -> Assertions.fail("Should reuse idle browser")));
+
+        /* discarded browsers free their port */
+        pool.discard(d2);
+        Mockito.verify(d2).quit();
+        Assertions.assertEquals(1, pool.getLaunched());
+        pool.lease(port -> {
+            ports.add(port);
+            return Mockito.mock(WebDriver.class);
+        });
+        Assertions.assertEquals(Arrays.asList(12000, 12001, 12001), ports);
+
+        /* unknown drivers are ignored */
+        pool.release(null);
+        pool.release(d2);
+        pool.discard(null);
+        pool.discard(d2);
+
+        pool.close();
+        Mockito.verify(d1).quit();
+        Assertions.assertEquals(0, pool.getLaunched());
+    }
+
+    @Test
+    public void test_lease_anyPort() {
+        ChromiumDriverPool pool = new ChromiumDriverPool(1, null);
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        Mockito.doThrow(new WebDriverException("gone")).when(driver).quit();
+
+        Assertions.assertSame(driver, pool.lease(port -> {
+            Assertions.assertEquals(0, port);
+            return driver;
+        }));
+        pool.discard(driver);
+        Assertions.assertEquals(0, pool.getLaunched());
+    }
+
+    @Test
+    public void test_lease_factoryError() {
+        ChromiumDriverPool pool = new ChromiumDriverPool(1, Arrays.asList(12000));
+
+        try {
+            pool.lease(port -> {
+                throw new WebDriverException("boom");
+            });
+            Assertions.fail("Expected exception");
+        } catch (WebDriverException ex) {
+            // pass
+        }
+
+        /* the permit and port were returned */
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        Assertions.assertSame(driver, pool.lease(port -> {
+            Assertions.assertEquals(12000, port);
+            return driver;
+        }));
+    }
+
+    @Test
+    public void test_lease_blocks() throws Exception {
+        ChromiumDriverPool pool = new ChromiumDriverPool(1, null);
+        WebDriver driver = pool.lease(port -> Mockito.mock(WebDriver.class));
+
+        AtomicReference<WebDriver> second = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            second.set(pool.lease(port -> Mockito.mock(WebDriver.class)));
+            done.countDown();
+        });
+        thread.start();
+
+        Assertions.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        pool.release(driver);
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertSame(driver, second.get());
+    }
+
+    @Test
+    public void test_lease_interrupted() {
+        ChromiumDriverPool pool = new ChromiumDriverPool(1, null);
+        pool.lease(port -> Mockito.mock(WebDriver.class));
+
+        Thread.currentThread().interrupt();
+        try {
+            pool.lease(port -> Mockito.mock(WebDriver.class));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Interrupted while waiting for a browser", ex.getMessage());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
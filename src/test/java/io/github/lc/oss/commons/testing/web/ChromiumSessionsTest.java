@@ -0,0 +1,97 @@
+package io.github.lc.oss.commons.testing.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ChromiumSessionsTest extends AbstractTest {
+    @AfterEach
+    public void cleanup() {
+        ChromiumSessions.closeAll();
+    }
+
+    @Test
+    public void test_parse() {
+        Assertions.assertEquals(ChromiumSessions.Scope.NONE, ChromiumSessions.Scope.parse(null));
+        Assertions.assertEquals(ChromiumSessions.Scope.NONE, ChromiumSessions.Scope.parse(" "));
+        Assertions.assertEquals(ChromiumSessions.Scope.NONE, ChromiumSessions.Scope.parse("none"));
+        Assertions.assertEquals(ChromiumSessions.Scope.CLASS, ChromiumSessions.Scope.parse("Class"));
+        Assertions.assertEquals(ChromiumSessions.Scope.JVM, ChromiumSessions.Scope.parse(" JVM "));
+
+        try {
+            ChromiumSessions.Scope.parse("junk");
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void test_acquire_class() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        WebDriver other = Mockito.mock(WebDriver.class);
+
+        Assertions.assertSame(driver, ChromiumSessions.acquire(ChromiumSessions.Scope.CLASS, String.class, () -> driver));
+        Assertions.assertSame(driver, ChromiumSessions.acquire(ChromiumSessions.Scope.CLASS, String.class, () -> other));
+        Assertions.assertSame(other, ChromiumSessions.acquire(ChromiumSessions.Scope.CLASS, Integer.class, () -> other));
+
+        ChromiumSessions.close(String.class);
+        Mockito.verify(driver).quit();
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, String.class));
+        Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, Integer.class));
+    }
+
+    @Test
+    public void test_acquire_jvm() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+
+        Assertions.assertSame(driver, ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, String.class, () -> driver));
+        Assertions.assertSame(driver, ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, Integer.class, () -> null));
+
+        /* class cleanup does not affect JVM sessions */
+        ChromiumSessions.close(String.class);
+        Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, Integer.class));
+
+        ChromiumSessions.evict(ChromiumSessions.Scope.JVM, null);
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, null));
+        Mockito.verify(driver).quit();
+    }
+
+    @Test
+    public void test_acquire_jvm_options() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        WebDriver other = Mockito.mock(WebDriver.class);
+
+        Assertions.assertSame(driver,
+                ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, String.class, "a", () -> driver));
+        Assertions.assertSame(driver,
+                ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, Integer.class, "a", () -> other));
+        /* browsers launched with other options are never shared */
+        Assertions.assertSame(other,
+                ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, Integer.class, "b", () -> other));
+
+        ChromiumSessions.evict(ChromiumSessions.Scope.JVM, String.class, "a");
+        Mockito.verify(driver).quit();
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, String.class, "a"));
+        Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, String.class, "b"));
+
+        ChromiumSessions.evict(ChromiumSessions.Scope.JVM, String.class, "b");
+        Mockito.verify(other).quit();
+    }
+
+    @Test
+    public void test_closeAll_quitFails() {
+        WebDriver driver = Mockito.mock(WebDriver.class);
+        Mockito.doThrow(new WebDriverException("gone")).when(driver).quit();
+
+        ChromiumSessions.acquire(ChromiumSessions.Scope.JVM, null, () -> driver);
+        ChromiumSessions.closeAll();
+
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.JVM, null));
+    }
+}
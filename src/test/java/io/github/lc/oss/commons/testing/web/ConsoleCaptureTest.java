@@ -0,0 +1,139 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ConsoleCaptureTest extends AbstractTest {
+    private Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    public void test_attach_unsupported() {
+        Assertions.assertNull(ConsoleCapture.attach(Mockito.mock(WebDriver.class), 10));
+
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+        Mockito.when(driver.maybeGetDevTools()).thenReturn(Optional.empty());
+        Assertions.assertNull(ConsoleCapture.attach(driver, 10));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void test_attach() {
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+        DevTools devTools = Mockito.mock(DevTools.class);
+        Mockito.when(driver.maybeGetDevTools()).thenReturn(Optional.of(devTools));
+
+        ConsoleCapture capture = ConsoleCapture.attach(driver, 10);
+        Assertions.assertNotNull(capture);
+        Assertions.assertSame(capture, ConsoleCapture.attach(driver, 10));
+        capture.configure(m -> m.startsWith("[App]"), m -> m.contains("409"), "[App] [ERROR]", false);
+
+        ArgumentCaptor<Event> events = ArgumentCaptor.forClass(Event.class);
+        ArgumentCaptor<Consumer> listeners = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(devTools).createSessionIfThereIsNotOne();
+        Mockito.verify(devTools, Mockito.times(3)).addListener(events.capture(), listeners.capture());
+        Mockito.verify(devTools, Mockito.times(2)).send(ArgumentMatchers.any(Command.class));
+
+        List<Consumer> consumers = listeners.getAllValues();
+        consumers.get(0).accept(this.map("type", "log", "args",
+                Arrays.asList(this.map("type", "string", "value", "[App]"), this.map("type", "number", "value", 1))));
+        consumers.get(1).accept(this.map("exceptionDetails",
+                this.map("text", "Uncaught", "exception", this.map("description", "Error: boom"))));
+        consumers.get(2).accept(this.map("entry", this.map("level", "error", "text", "status of 409")));
+
+        List<ConsoleCapture.Entry> entries = capture.getEntries();
+        Assertions.assertEquals(3, entries.size());
+        Assertions.assertEquals("log", entries.get(0).getLevel());
+        Assertions.assertEquals("[App] 1", entries.get(0).getMessage());
+        Assertions.assertTrue(entries.get(0).isApplication());
+        Assertions.assertFalse(entries.get(0).isExpected());
+        Assertions.assertEquals("error", entries.get(1).getLevel());
+        Assertions.assertEquals("Error: boom", entries.get(1).getMessage());
+        Assertions.assertEquals("status of 409", entries.get(2).getMessage());
+        Assertions.assertTrue(entries.get(2).isExpected());
+        Assertions.assertFalse(entries.get(2).isApplication());
+
+        Assertions.assertEquals(Arrays.asList("[App] 1"), capture.getApplicationMessages());
+        Assertions.assertEquals(Arrays.asList("[App] 1", "Error: boom"), capture.getUnexpectedMessages());
+    }
+
+    @Test
+    public void test_add_bounded() {
+        ConsoleCapture capture = new ConsoleCapture(2);
+        capture.configure(m -> m.startsWith("[App]"), m -> m.startsWith("ok"), "[App] [ERROR]", false);
+
+        capture.add("info", "[App] [ERROR] one");
+        capture.add("info", "two");
+        capture.add("info", null);
+
+        Assertions.assertEquals(2, capture.getEntries().size());
+        Assertions.assertEquals(Arrays.asList("two", ""), capture.getUnexpectedMessages());
+        Assertions.assertTrue(capture.getApplicationMessages().isEmpty());
+        Assertions.assertEquals(1, capture.getApplicationCount());
+        Assertions.assertEquals(1, capture.getApplicationErrorCount());
+        Assertions.assertEquals(3, capture.getUnexpectedCount());
+        /* fail fast is off */
+        capture.assertNoFailure();
+
+        capture.clear();
+        Assertions.assertTrue(capture.getEntries().isEmpty());
+        Assertions.assertEquals(0, capture.getApplicationErrorCount());
+        Assertions.assertEquals(0, capture.getUnexpectedCount());
+    }
+
+    @Test
+    public void test_failFast() {
+        ConsoleCapture capture = new ConsoleCapture(0);
+        capture.configure(m -> m.startsWith("[App]"), m -> true, "[App] [ERROR]", true);
+
+        capture.add("info", "[App] [INFO] fine");
+        capture.assertNoFailure();
+
+        capture.add("error", "[App] [ERROR] first");
+        capture.add("error", "[App] [ERROR] second");
+        try {
+            capture.assertNoFailure();
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Application error logged: [App] [ERROR] first", ex.getMessage());
+        }
+
+        capture.configure(m -> false, m -> true, null, true);
+        capture.assertNoFailure();
+    }
+
+    @Test
+    public void test_text() {
+        Assertions.assertEquals("", ConsoleCapture.consoleText(Collections.emptyMap()));
+        Assertions.assertEquals("a Object undefined", ConsoleCapture.consoleText(this.map("args",
+                Arrays.asList(this.map("value", "a"), this.map("description", "Object"), this.map("type", "undefined"),
+                        "junk"))).trim());
+        Assertions.assertEquals("Uncaught",
+                ConsoleCapture.exceptionText(this.map("exceptionDetails", this.map("text", "Uncaught"))));
+        Assertions.assertEquals("", ConsoleCapture.exceptionText(Collections.emptyMap()));
+    }
+}
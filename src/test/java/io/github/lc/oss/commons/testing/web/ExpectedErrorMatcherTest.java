@@ -0,0 +1,95 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ExpectedErrorMatcherTest extends AbstractTest {
+    @Test
+    public void test_empty() {
+        Assertions.assertFalse(new ExpectedErrorMatcher(null).matches("a"));
+        Assertions.assertFalse(new ExpectedErrorMatcher(Collections.emptySet()).matches("a"));
+        Assertions.assertFalse(new ExpectedErrorMatcher(Collections.emptySet()).matches(""));
+        Assertions.assertFalse(new ExpectedErrorMatcher(Arrays.asList(null, null)).matches("a"));
+        Assertions.assertFalse(new ExpectedErrorMatcher(Arrays.asList((String) null)).matches(""));
+    }
+
+    @Test
+    public void test_literals() {
+        ExpectedErrorMatcher matcher = new ExpectedErrorMatcher(Arrays.asList("[App]", "status of 409", null));
+
+        Assertions.assertTrue(matcher.matches("12:00 [App] [INFO] hello"));
+        Assertions.assertTrue(matcher.matches("Failed to load resource: the server responded with a status of 409"));
+        /* regex characters in literals are not special */
+        Assertions.assertFalse(matcher.matches("App"));
+        Assertions.assertFalse(matcher.matches("status of 404"));
+        Assertions.assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void test_emptyLiteral() {
+        /* an empty entry (i.e. no logging prefix) matches everything, as contains("") did */
+        ExpectedErrorMatcher matcher = new ExpectedErrorMatcher(Arrays.asList(""));
+
+        Assertions.assertTrue(matcher.matches(""));
+        Assertions.assertTrue(matcher.matches("anything"));
+    }
+
+    @Test
+    public void test_regex() {
+        ExpectedErrorMatcher matcher = new ExpectedErrorMatcher(
+                Arrays.asList("regex:status of 4(04|09)", "regex:^favicon", "a|b"));
+
+        Assertions.assertTrue(matcher.matches("status of 404"));
+        Assertions.assertTrue(matcher.matches("status of 409"));
+        Assertions.assertFalse(matcher.matches("status of 500"));
+        Assertions.assertTrue(matcher.matches("favicon.ico missing"));
+        Assertions.assertFalse(matcher.matches("no favicon"));
+        Assertions.assertTrue(matcher.matches("x a|b y"));
+        Assertions.assertFalse(matcher.matches("a"));
+    }
+
+    @Test
+    public void test_regex_alternativesScoped() {
+        /* each entry's alternation and anchors stay within the entry */
+        ExpectedErrorMatcher matcher = new ExpectedErrorMatcher(Arrays.asList("regex:^a|b$", "regex:(?i)x", "y"));
+
+        Assertions.assertTrue(matcher.matches("a..."));
+        Assertions.assertTrue(matcher.matches("...b"));
+        Assertions.assertFalse(matcher.matches("...a b..."));
+        Assertions.assertTrue(matcher.matches("X"));
+        Assertions.assertTrue(matcher.matches("y"));
+        /* (?i) does not leak into the entries after it */
+        Assertions.assertFalse(matcher.matches("Y"));
+    }
+
+    @Test
+    public void test_regex_backReferences() {
+        ExpectedErrorMatcher matcher = new ExpectedErrorMatcher(Arrays.asList("regex:(a)(b)", "regex:(x)\\1",
+                "regex:(?<q>['\"]).*\\k<q>", "regex:(?<q>z)"));
+
+        Assertions.assertTrue(matcher.matches("ab"));
+        Assertions.assertTrue(matcher.matches("xx"));
+        Assertions.assertFalse(matcher.matches("xa"));
+        Assertions.assertTrue(matcher.matches("'quoted'"));
+        Assertions.assertTrue(matcher.matches("\"quoted\""));
+        Assertions.assertFalse(matcher.matches("'quoted\""));
+        Assertions.assertTrue(matcher.matches("z"));
+        Assertions.assertFalse(matcher.matches("none"));
+    }
+
+    @Test
+    public void test_regex_invalid() {
+        try {
+            new ExpectedErrorMatcher(Arrays.asList("regex:("));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Invalid expected error pattern: (", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class JdkRestTransportTest extends AbstractTest {
+    private HttpServer server;
+    private JdkRestTransport.RequestFactory factory;
+
+    @BeforeEach
+    public void init() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        /* echoes the method, the X-Test header and the body */
+        this.server.createContext("/echo", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            String response = exchange.getRequestMethod() + " " + //
+                    exchange.getRequestHeaders().getFirst("X-Test") + " " + //
+                    new String(body, StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Reply", "a");
+            exchange.getResponseHeaders().add("X-Reply", "b");
+            JdkRestTransportTest.respond(exchange, 200, response.getBytes(StandardCharsets.UTF_8));
+        });
+        this.server.createContext("/missing", exchange -> JdkRestTransportTest.respond(exchange, 404, new byte[0]));
+        this.server.createContext("/custom", exchange -> JdkRestTransportTest.respond(exchange, 599, new byte[0]));
+        this.server.createContext("/json", exchange -> JdkRestTransportTest.respond(exchange, 200,
+                "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8)));
+        this.server.start();
+
+        this.factory = (JdkRestTransport.RequestFactory) new JdkRestTransport().createRequestFactory(new RestService());
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        this.factory.destroy();
+        this.server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + this.server.getAddress().getHostString() + ":"
+                + this.server.getAddress().getPort() + path);
+    }
+
+    @Test
+    public void test_createRequestFactory() {
+        HttpClient client = this.factory.getClient();
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, client.version());
+        Assertions.assertEquals(HttpClient.Redirect.NEVER, client.followRedirects());
+        Assertions.assertEquals(Duration.ofMillis(RestService.DEFAULT_TIMEOUT), client.connectTimeout().get());
+        Assertions.assertFalse(client.cookieHandler().isPresent());
+    }
+
+    @Test
+    public void test_createRequestFactory_clientPerService() throws Exception {
+        JdkRestTransport transport = new JdkRestTransport();
+        RestService service = new RestService();
+        JdkRestTransport.RequestFactory a = (JdkRestTransport.RequestFactory) transport.createRequestFactory(service);
+        JdkRestTransport.RequestFactory b = (JdkRestTransport.RequestFactory) transport.createRequestFactory(service);
+        JdkRestTransport.RequestFactory other = (JdkRestTransport.RequestFactory) transport
+                .createRequestFactory(new RestService());
+        Assertions.assertNotSame(a, b);
+        Assertions.assertSame(a.getClient(), b.getClient());
+        Assertions.assertNotSame(a.getClient(), other.getClient());
+
+        a.destroy();
+        JdkRestTransport.RequestFactory c = (JdkRestTransport.RequestFactory) transport.createRequestFactory(service);
+        Assertions.assertNotSame(a.getClient(), c.getClient());
+        /* stale factories don't release the newer client */
+        b.destroy();
+        Assertions.assertSame(c.getClient(),
+                ((JdkRestTransport.RequestFactory) transport.createRequestFactory(service)).getClient());
+
+        transport.release(service);
+        Assertions.assertNotSame(c.getClient(),
+                ((JdkRestTransport.RequestFactory) transport.createRequestFactory(service)).getClient());
+        transport.release(service);
+        transport.release(service);
+        other.destroy();
+    }
+
+    @Test
+    public void test_executeAsync() throws Exception {
+        List<String> completed = new ArrayList<>();
+        JdkRestTransport.Request request = this.factory.createRequest(this.uri("/echo"), HttpMethod.POST);
+        request.getHeaders().add("X-Test", "async");
+        request.getBody().write("data".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(4, request.getBodySize());
+
+        ClientHttpResponse response = request.executeAsync((status, firstByte, total, bytes) -> {
+            Assertions.assertTrue(firstByte > 0);
+            Assertions.assertTrue(total >= firstByte);
+            completed.add(status + " " + bytes);
+        }).get();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("POST async data",
+                new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        Assertions.assertTrue(completed.isEmpty());
+
+        response.close();
+        response.close();
+        Assertions.assertEquals(List.of("200 15"), completed);
+    }
+
+    @Test
+    public void test_restService_async() throws Exception {
+        AtomicLong blocking = new AtomicLong();
+        RestService service = new RestService() {
+            @Override
+            protected ExecutorService createAsyncExecutor() {
+                blocking.incrementAndGet();
+                return super.createAsyncExecutor();
+            }
+        };
+        this.setField("transportName", JdkRestTransport.NAME, service);
+
+        RequestTimings timings = RequestTimings.start();
+        try {
+            ResponseEntity<JsonObject> result = service.await(service.getJsonAsync(this.uri("/json").toString()));
+            Assertions.assertEquals("value", result.getBody().getString("key"));
+
+            ResponseEntity<String> echo = service.await(service.callAsync(HttpMethod.PUT,
+                    this.uri("/echo").toString(), null, String.class, "data"));
+            Assertions.assertEquals("PUT null data", echo.getBody());
+
+            Assertions.assertNull(service.await(service.deleteJsonAsync(this.uri("/missing").toString(), null,
+                    HttpStatus.NOT_FOUND)).getBody());
+        } finally {
+            timings.stop();
+        }
+        Assertions.assertEquals(3, timings.getSamples().size());
+        Assertions.assertEquals(404, timings.getSamples().get(2).getStatus());
+
+        try {
+            service.await(service.getJsonAsync(this.uri("/missing").toString()));
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected: <200 OK> but was: <404 NOT_FOUND>", ex.getMessage());
+        }
+
+        try {
+            service.await(service.getJsonAsync("junk url"));
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Invalid URL", ex.getMessage());
+        }
+
+        /* nothing listening */
+        try {
+            service.await(service.getJsonAsync("http://localhost:1/json"));
+            Assertions.fail("Expected exception");
+        } catch (ResourceAccessException ex) {
+            Assertions.assertTrue(ex.getMessage().startsWith("I/O error on GET request for \"http://localhost:"));
+        }
+
+        Assertions.assertEquals(0, blocking.get());
+        service.destroy();
+    }
+
+    @Test
+    public void test_patch() {
+        RestTemplate rest = new RestTemplate(this.factory);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Test", "value");
+        /* restricted headers are left to the client */
+        headers.add(HttpHeaders.CONNECTION, "close");
+        headers.add(HttpHeaders.HOST, "example.com");
+
+        ResponseEntity<String> result = rest.exchange(this.uri("/echo"), HttpMethod.PATCH,
+                new HttpEntity<>("data", headers), String.class);
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertEquals("PATCH value data", result.getBody());
+        Assertions.assertEquals(2, result.getHeaders().get("X-Reply").size());
+    }
+
+    @Test
+    public void test_get_noBody() throws IOException {
+        ClientHttpRequest request = this.factory.createRequest(this.uri("/echo"), HttpMethod.GET);
+        Assertions.assertEquals(HttpMethod.GET, request.getMethod());
+        Assertions.assertEquals(this.uri("/echo"), request.getURI());
+
+        try (ClientHttpResponse response = request.execute()) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+            Assertions.assertEquals("OK", response.getStatusText());
+            Assertions.assertSame(response.getHeaders(), response.getHeaders());
+            Assertions.assertEquals("GET null ",
+                    new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void test_errorStatus() throws IOException {
+        ClientHttpRequestFactory f = this.factory;
+        try (ClientHttpResponse response = f.createRequest(this.uri("/missing"), HttpMethod.DELETE).execute()) {
+            Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            Assertions.assertEquals("Not Found", response.getStatusText());
+            Assertions.assertEquals(-1, response.getBody().read());
+        }
+
+        try (ClientHttpResponse response = f.createRequest(this.uri("/custom"), HttpMethod.GET).execute()) {
+            Assertions.assertEquals(599, response.getStatusCode().value());
+            Assertions.assertEquals("", response.getStatusText());
+        }
+    }
+}
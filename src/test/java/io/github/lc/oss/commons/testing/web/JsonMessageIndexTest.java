@@ -0,0 +1,69 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class JsonMessageIndexTest extends AbstractTest {
+    private JsonObject message(String category, String severity, Integer number, String text) {
+        JsonObject m = new JsonObject();
+        m.put("category", category);
+        m.put("severity", severity);
+        m.put("number", number);
+        m.put("text", text);
+        return m;
+    }
+
+    @Test
+    public void test_find() {
+        JsonObject m1 = this.message("C", "S", 1, "one");
+        JsonObject m2 = this.message("C", "S", 1, "two");
+        JsonObject m3 = this.message("D", "S", 1, null);
+        JsonObject m4 = this.message("C", "E", null, null);
+        List<JsonObject> messages = new ArrayList<>(Arrays.asList(m1, m2, m3, m4, null));
+
+        JsonMessageIndex index = new JsonMessageIndex(messages);
+        Assertions.assertEquals(Arrays.asList(m1, m2), index.get("C", "S", 1));
+        Assertions.assertTrue(index.get("C", "S", 2).isEmpty());
+        Assertions.assertTrue(index.get(null, null, 1).isEmpty());
+
+        Assertions.assertSame(m1, index.find("C", "S", 1, null));
+        Assertions.assertSame(m2, index.find("C", "S", 1, "two"));
+        Assertions.assertSame(m3, index.find(new JsonMessage("D", "S", 1)));
+        Assertions.assertNull(index.find("C", "S", 1, "three"));
+        Assertions.assertNull(index.find("D", "S", 1, "text"));
+        Assertions.assertNull(index.find("C", "E", 0, null));
+
+        List<JsonMessage> missing = index.findMissing(new JsonMessage("C", "S", 1, "one"),
+                new JsonMessage("C", "S", 1, "three"), new JsonMessage("X", "S", 1));
+        Assertions.assertEquals(2, missing.size());
+        Assertions.assertEquals("C.S.1 'three'", missing.get(0).toString());
+        Assertions.assertEquals("X.S.1", missing.get(1).toString());
+        Assertions.assertTrue(index.findMissing((JsonMessage[]) null).isEmpty());
+    }
+
+    @Test
+    public void test_null() {
+        JsonMessageIndex index = new JsonMessageIndex(null);
+        Assertions.assertTrue(index.get("C", "S", 1).isEmpty());
+    }
+
+    @Test
+    public void test_jsonMessage() {
+        JsonMessage message = new JsonMessage("C", "S", 1, "text");
+        Assertions.assertEquals("C", message.getCategory());
+        Assertions.assertEquals("S", message.getSeverity());
+        Assertions.assertEquals(1, message.getNumber());
+        Assertions.assertEquals("text", message.getText());
+        Assertions.assertEquals("C.S.1 'text'", message.toString());
+
+        message = new JsonMessage("C", "S", 1);
+        Assertions.assertNull(message.getText());
+        Assertions.assertEquals("C.S.1", message.toString());
+    }
+}
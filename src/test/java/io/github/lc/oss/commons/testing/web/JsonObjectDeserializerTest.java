@@ -0,0 +1,320 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class JsonObjectDeserializerTest extends AbstractTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void test_deserialize() throws IOException {
+        JsonObject result = this.mapper.readValue("{" + //
+                "\"s\":\"text\"," + //
+                "\"i\":1," + //
+                "\"l\":12345678901," + //
+                "\"bi\":123456789012345678901234567890," + //
+                "\"d\":1.5," + //
+                "\"b\":true," + //
+                "\"n\":null," + //
+                "\"o\":{\"a\":{\"b\":[]}}," + //
+                "\"e\":{}," + //
+                "\"list\":[1,\"x\",null]," + //
+                "\"objects\":[{\"id\":1},{\"id\":2}]," + //
+                "\"nested\":[[{\"id\":3}]]" + //
+                "}", JsonObject.class);
+
+        Assertions.assertEquals(12, result.size());
+        Assertions.assertEquals("text", result.getString("s"));
+        Assertions.assertEquals(Integer.valueOf(1), result.get("i"));
+        Assertions.assertEquals(12345678901L, result.getLong("l"));
+        Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), result.get("bi"));
+        Assertions.assertEquals(Double.valueOf(1.5), result.get("d"));
+        Assertions.assertTrue(result.getBoolean("b"));
+        Assertions.assertTrue(result.containsKey("n"));
+        Assertions.assertNull(result.get("n"));
+
+        JsonObject o = result.getChild("o");
+        Assertions.assertSame(o, result.get("o"));
+        Assertions.assertTrue(o.getChild("a").getArray("b").isEmpty());
+        Assertions.assertTrue(result.getChild("e").isEmpty());
+
+        List<Object> list = result.getArray("list");
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertEquals(1, list.get(0));
+        Assertions.assertEquals("x", list.get(1));
+        Assertions.assertNull(list.get(2));
+
+        List<JsonObject> objects = result.getArray("objects");
+        Assertions.assertEquals(2, objects.size());
+        Assertions.assertEquals(2, objects.get(1).getInt("id"));
+
+        List<List<Object>> nested = result.getArray("nested");
+        Assertions.assertTrue(nested.get(0).get(0) instanceof JsonObject);
+    }
+
+    @Test
+    public void test_deserialize_mapperFeatures() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.USE_LONG_FOR_INTS);
+
+        JsonObject result = mapper.readValue("{\"i\":1,\"o\":{\"i\":2}}", JsonObject.class);
+        Assertions.assertEquals(Long.valueOf(1), result.get("i"));
+        Assertions.assertEquals(Long.valueOf(2), result.getChild("o").get("i"));
+    }
+
+    @Test
+    public void test_deserialize_notAnObject() throws IOException {
+        try {
+            this.mapper.readValue("[]", JsonObject.class);
+            Assertions.fail("Expected exception");
+        } catch (MismatchedInputException ex) {
+            // pass
+        }
+
+        Assertions.assertNull(this.mapper.readValue("null", JsonObject.class));
+    }
+
+    @Test
+    public void test_roundTrip() throws IOException {
+        String json = "{\"a\":{\"b\":[{\"c\":1}]}}";
+
+        JsonObject result = this.mapper.readValue(json, JsonObject.class);
+        Assertions.assertEquals(json, this.mapper.writeValueAsString(result));
+    }
+
+    @Test
+    public void test_deserialize_lazy() throws IOException {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+
+        JsonObject result = reader.readValue("{" + //
+                "\"s\":\"text\"," + //
+                "\"o\":{\"a\":{\"b\":[]},\"c\":1}," + //
+                "\"list\":[1,\"x\",null]," + //
+                "\"objects\":[{\"id\":1},{\"id\":{\"v\":2}}]," + //
+                "\"nested\":[[{\"id\":3}]]" + //
+                "}");
+
+        Assertions.assertTrue(result.isLazy());
+        Assertions.assertEquals(5, result.size());
+        Assertions.assertEquals("text", result.getString("s"));
+        Assertions.assertTrue(result.isLazy());
+
+        JsonObject o = result.getChild("o");
+        Assertions.assertSame(o, result.get("o"));
+        Assertions.assertTrue(o.isLazy());
+        Assertions.assertEquals(1, o.getInt("c"));
+        Assertions.assertTrue(o.getChild("a").getArray("b").isEmpty());
+        Assertions.assertFalse(o.isLazy());
+
+        List<Object> list = result.getArray("list");
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertEquals(1, list.get(0));
+        Assertions.assertEquals("x", list.get(1));
+        Assertions.assertNull(list.get(2));
+
+        List<JsonObject> objects = result.getArray("objects");
+        Assertions.assertEquals(1, objects.get(0).getInt("id"));
+        Assertions.assertTrue(objects.get(1).isLazy());
+        Assertions.assertEquals(2, objects.get(1).getChild("id").getInt("v"));
+
+        Assertions.assertTrue(result.isLazy());
+        List<List<Object>> nested = result.getArray("nested");
+        Assertions.assertTrue(nested.get(0).get(0) instanceof JsonObject);
+        Assertions.assertFalse(result.isLazy());
+    }
+
+    @Test
+    public void test_deserialize_lazy_views() throws IOException {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+        String json = "{\"a\":{\"b\":[{\"c\":1}]}}";
+
+        JsonObject result = reader.readValue(json);
+        Assertions.assertTrue(result.isLazy());
+        Assertions.assertEquals(json, this.mapper.writeValueAsString(result));
+        Assertions.assertFalse(result.isLazy());
+
+        result = reader.readValue(json);
+        Assertions.assertEquals(this.mapper.readValue(json, JsonObject.class), result);
+
+        result = reader.readValue(json);
+        Map<String, Object> copy = new HashMap<>();
+        result.forEach(copy::put);
+        Assertions.assertTrue(copy.get("a") instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.values().iterator().next() instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.getOrDefault("a", null) instanceof JsonObject);
+        Assertions.assertEquals("x", result.getOrDefault("z", "x"));
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.remove("a") instanceof JsonObject);
+        Assertions.assertFalse(result.isLazy());
+    }
+
+    @Test
+    public void test_deserialize_lazy_mapMethods() throws IOException {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+        String json = "{\"a\":{\"b\":1},\"c\":{\"d\":2}}";
+        JsonObject a = this.mapper.readValue("{\"b\":1}", JsonObject.class);
+
+        JsonObject result = reader.readValue(json);
+        Assertions.assertTrue(result.put("a", "x") instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.putIfAbsent("a", "x") instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.computeIfAbsent("a", k -> "x") instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.computeIfPresent("a", (k, v) -> v) instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.compute("a", (k, v) -> v) instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.merge("a", "x", (o, n) -> o) instanceof JsonObject);
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.replace("a", "x") instanceof JsonObject);
+        Assertions.assertEquals("x", result.get("a"));
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.replace("a", a, "x"));
+        Assertions.assertEquals("x", result.get("a"));
+
+        result = reader.readValue(json);
+        Assertions.assertTrue(result.remove("a", a));
+        Assertions.assertFalse(result.containsKey("a"));
+        Assertions.assertTrue(result.isLazy());
+
+        result = reader.readValue(json);
+        JsonObject copy = (JsonObject) result.clone();
+        Assertions.assertFalse(result.isLazy());
+        Assertions.assertFalse(copy.isLazy());
+        Assertions.assertTrue(copy.get("a") instanceof JsonObject);
+        Assertions.assertSame(result.get("c"), copy.get("c"));
+    }
+
+    @Test
+    public void test_deserialize_lazy_lockReleased() throws Exception {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+
+        /* reading the last pending value stops locking, without isLazy() recounting */
+        JsonObject result = reader.readValue("{\"a\":{\"x\":1},\"b\":[{\"x\":2}],\"c\":3}");
+        Assertions.assertTrue(this.isLocking(result));
+        result.get("a");
+        result.get("c");
+        Assertions.assertTrue(this.isLocking(result));
+        result.get("b");
+        Assertions.assertFalse(this.isLocking(result));
+
+        /* duplicate keys only leave one value to decode */
+        result = reader.readValue("{\"a\":{\"x\":1},\"a\":{\"x\":2}}");
+        Assertions.assertEquals(2, result.getChild("a").getInt("x"));
+        Assertions.assertFalse(this.isLocking(result));
+
+        /* replaced and removed values no longer count */
+        result = reader.readValue("{\"a\":{\"x\":1},\"b\":{\"x\":2}}");
+        Assertions.assertTrue(result.put("a", 1) instanceof JsonObject);
+        Assertions.assertTrue(this.isLocking(result));
+        Assertions.assertTrue(result.remove("b") instanceof JsonObject);
+        Assertions.assertFalse(this.isLocking(result));
+
+        result = reader.readValue("{\"a\":{\"x\":1}}");
+        result.clear();
+        Assertions.assertFalse(this.isLocking(result));
+    }
+
+    private boolean isLocking(JsonObject object) throws ReflectiveOperationException {
+        Field field = JsonObject.class.getDeclaredField("lazy");
+        field.setAccessible(true);
+        return field.getBoolean(object);
+    }
+
+    @Test
+    public void test_deserialize_lazy_concurrentReads() throws Exception {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 50; i++) {
+            json.append(i == 0 ? "" : ",").append("\"k").append(i).append("\":{\"v\":").append(i).append("}");
+        }
+        JsonObject result = reader.readValue(json.append("}").toString());
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Object>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Object> seen = new ArrayList<>();
+                    for (int i = 0; i < 50; i++) {
+                        seen.add(result.get("k" + i));
+                    }
+                    return seen;
+                }));
+            }
+            start.countDown();
+
+            /* every reader gets the same decoded instance */
+            List<Object> expected = futures.get(0).get();
+            for (Future<List<Object>> future : futures) {
+                List<Object> seen = future.get();
+                for (int i = 0; i < 50; i++) {
+                    Assertions.assertSame(expected.get(i), seen.get(i));
+                    Assertions.assertEquals(i, ((JsonObject) seen.get(i)).getInt("v"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertFalse(result.isLazy());
+    }
+
+    @Test
+    public void test_deserialize_lazy_serializable() throws IOException, ClassNotFoundException {
+        ObjectReader reader = this.mapper.readerFor(JsonObject.class).withAttribute(JsonObjectDeserializer.LAZY,
+                Boolean.TRUE);
+        JsonObject result = reader.readValue("{\"a\":{\"b\":1}}");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(result);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            JsonObject copy = (JsonObject) in.readObject();
+            Assertions.assertEquals(1, copy.getChild("a").getInt("b"));
+        }
+    }
+}
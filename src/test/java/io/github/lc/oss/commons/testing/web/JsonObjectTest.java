@@ -98,4 +98,17 @@ public class JsonObjectTest extends AbstractTest {
         List<JsonObject> jnull = j1.getArray("objects");
         Assertions.assertNull(jnull);
     }
+
+    @Test
+    public void test_select() {
+        JsonObject child = new JsonObject();
+        child.put("id", 1);
+        JsonObject j = new JsonObject();
+        j.put("items", Arrays.asList(child, child));
+
+        List<Integer> ids = j.select("$.items[*].id");
+        Assertions.assertEquals(Arrays.asList(1, 1), ids);
+        Assertions.assertEquals(Integer.valueOf(1), j.selectFirst("$.items[0].id"));
+        Assertions.assertNull(j.selectFirst("$.items[0].junk"));
+    }
 }
@@ -0,0 +1,97 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class JsonPathTest extends AbstractTest {
+    private JsonObject sample() {
+        JsonObject i1 = new JsonObject();
+        i1.put("id", 1);
+        i1.put("status", "OK");
+        JsonObject i2 = new JsonObject();
+        i2.put("id", 2);
+        i2.put("status", "FAILED");
+        i2.put("tags", Arrays.asList("a", "b"));
+        JsonObject data = new JsonObject();
+        data.put("items", Arrays.asList(i1, i2));
+        data.put("name", "test");
+        data.put("with.dot", true);
+        data.put("none", null);
+        JsonObject root = new JsonObject();
+        root.put("data", data);
+        return root;
+    }
+
+    @Test
+    public void test_compile_cached() {
+        JsonPath path = JsonPath.compile("$.data.items[*].status");
+        Assertions.assertSame(path, JsonPath.compile("$.data.items[*].status"));
+        Assertions.assertEquals("$.data.items[*].status", path.getPath());
+        Assertions.assertEquals("$.data.items[*].status", path.toString());
+        Assertions.assertFalse(path.isDefinite());
+        Assertions.assertTrue(JsonPath.compile("$.data.items[0]").isDefinite());
+    }
+
+    @Test
+    public void test_compile_invalid() {
+        List<String> invalid = Arrays.asList(null, "", "data", "$.", "$..a", "$[", "$[x]", "$['a'", "$['a'x", "$a");
+        for (String path : invalid) {
+            try {
+                JsonPath.compile(path);
+                Assertions.fail("Expected exception for " + path);
+            } catch (AssertionFailedError ex) {
+                Assertions.assertEquals("Invalid JSON path: " + (path == null ? "" : path), ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void test_select() {
+        JsonObject root = this.sample();
+
+        Assertions.assertEquals(Arrays.asList("OK", "FAILED"), JsonPath.compile("$.data.items[*].status").select(root));
+        Assertions.assertEquals(Arrays.asList(2), JsonPath.compile("$.data.items[1].id").select(root));
+        Assertions.assertEquals(Arrays.asList(2), JsonPath.compile("$.data.items[-1].id").select(root));
+        Assertions.assertEquals(Arrays.asList("test"), JsonPath.compile("$['data'][\"name\"]").select(root));
+        Assertions.assertEquals(Arrays.asList(true), JsonPath.compile("$.data['with.dot']").select(root));
+        Assertions.assertEquals(Arrays.asList("a", "b"), JsonPath.compile("$.data.items[*].tags[*]").select(root));
+        Assertions.assertEquals(Arrays.asList(root), JsonPath.compile(" $ ").select(root));
+        Assertions.assertEquals(4, JsonPath.compile("$.data.*").count(root));
+
+        List<Object> nullValue = new ArrayList<>();
+        nullValue.add(null);
+        Assertions.assertEquals(nullValue, JsonPath.compile("$.data.none").select(root));
+
+        Assertions.assertTrue(JsonPath.compile("$.data.junk").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data.items[5]").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data.items[-3]").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data.name[0]").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data.name.x").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data.name[*]").select(root).isEmpty());
+        Assertions.assertTrue(JsonPath.compile("$.data").select(null).isEmpty());
+        Assertions.assertEquals(0, JsonPath.compile("$.data").count(null));
+    }
+
+    @Test
+    public void test_selectFirst() {
+        JsonObject root = this.sample();
+
+        Assertions.assertEquals("OK", JsonPath.compile("$.data.items[*].status").selectFirst(root));
+        Assertions.assertEquals(Arrays.asList("a", "b"), JsonPath.compile("$.data.items[*].tags").selectFirst(root));
+        Assertions.assertEquals("a", JsonPath.compile("$.data.items[*].tags[0]").selectFirst(root));
+        Assertions.assertEquals(Integer.valueOf(2), JsonPath.compile("$.data.items[-1].id").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data.none").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data.junk").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data.items[9]").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data.items[*].junk").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data.name[*]").selectFirst(root));
+        Assertions.assertNull(JsonPath.compile("$.data").selectFirst(null));
+    }
+}
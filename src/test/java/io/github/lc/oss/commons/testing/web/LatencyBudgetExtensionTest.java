@@ -0,0 +1,114 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class LatencyBudgetExtensionTest extends AbstractTest {
+    @LatencyBudget(p95Millis = 50)
+    private static class Budgeted {
+        @LatencyBudget(maxMillis = 100, timeToFirstByte = true)
+        public void method() {
+        }
+
+        public void inherited() {
+        }
+    }
+
+    private static class NoBudget {
+        public void method() {
+        }
+    }
+
+    private LatencyBudgetExtension extension = new LatencyBudgetExtension();
+
+    private ExtensionContext context(Class<?> type, String method, Throwable failure) throws Exception {
+        Map<Object, Object> values = new HashMap<>();
+        ExtensionContext.Store store = Mockito.mock(ExtensionContext.Store.class);
+        Mockito.doAnswer(i -> values.put(i.getArgument(0), i.getArgument(1))).when(store)
+                .put(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.when(store.remove(ArgumentMatchers.any(), ArgumentMatchers.eq(RequestTimings.class)))
+                .thenAnswer(i -> values.remove(i.getArgument(0)));
+
+        Method m = type.getMethod(method);
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        Mockito.when(context.getStore(ArgumentMatchers.any())).thenReturn(store);
+        Mockito.when(context.getTestMethod()).thenReturn(Optional.of(m));
+        Mockito.when(context.getTestClass()).thenReturn(Optional.of(type));
+        Mockito.when(context.getExecutionException()).thenReturn(Optional.ofNullable(failure));
+        return context;
+    }
+
+    @Test
+    public void test_getBudget() throws Exception {
+        LatencyBudget budget = this.extension.getBudget(this.context(Budgeted.class, "method", null));
+        Assertions.assertEquals(100, budget.maxMillis());
+        Assertions.assertEquals(0, budget.p95Millis());
+        Assertions.assertTrue(budget.timeToFirstByte());
+
+        budget = this.extension.getBudget(this.context(Budgeted.class, "inherited", null));
+        Assertions.assertEquals(0, budget.maxMillis());
+        Assertions.assertEquals(50, budget.p95Millis());
+        Assertions.assertFalse(budget.timeToFirstByte());
+
+        Assertions.assertNull(this.extension.getBudget(this.context(NoBudget.class, "method", null)));
+    }
+
+    @Test
+    public void test_noBudget() throws Exception {
+        ExtensionContext context = this.context(NoBudget.class, "method", null);
+        this.extension.beforeTestExecution(context);
+        Assertions.assertNull(RequestTimings.current());
+        this.extension.afterTestExecution(context);
+    }
+
+    @Test
+    public void test_withinBudget() throws Exception {
+        ExtensionContext context = this.context(Budgeted.class, "method", null);
+        this.extension.beforeTestExecution(context);
+        RequestTimings timings = RequestTimings.current();
+        Assertions.assertNotNull(timings);
+        timings.record("GET", "/a", 200, Duration.ofMillis(100), Duration.ofMillis(500));
+
+        this.extension.afterTestExecution(context);
+        Assertions.assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void test_overBudget() throws Exception {
+        ExtensionContext context = this.context(Budgeted.class, "inherited", null);
+        this.extension.beforeTestExecution(context);
+        RequestTimings.current().record("GET", "/a", 200, Duration.ofMillis(1), Duration.ofMillis(60));
+
+        try {
+            this.extension.afterTestExecution(context);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Latency budget exceeded (response time): p95 of 1 calls was 60.000ms (max 50.000ms)",
+                    ex.getMessage());
+        }
+        Assertions.assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void test_overBudget_testFailed() throws Exception {
+        ExtensionContext context = this.context(Budgeted.class, "inherited", new RuntimeException("BOOM"));
+        this.extension.beforeTestExecution(context);
+        RequestTimings.current().record("GET", "/a", 200, Duration.ofMillis(1), Duration.ofMillis(60));
+
+        this.extension.afterTestExecution(context);
+        Assertions.assertNull(RequestTimings.current());
+    }
+}
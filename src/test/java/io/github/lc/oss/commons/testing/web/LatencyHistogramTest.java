@@ -0,0 +1,79 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class LatencyHistogramTest extends AbstractTest {
+    @Test
+    public void test_buckets() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.indexOf(value);
+            Assertions.assertTrue(value <= LatencyHistogram.highestValueAt(index));
+            if (index > 0) {
+                Assertions.assertTrue(value > LatencyHistogram.highestValueAt(index - 1));
+            }
+        }
+
+        Assertions.assertEquals(0, LatencyHistogram.indexOf(0));
+        Assertions.assertEquals(127, LatencyHistogram.indexOf(127));
+        Assertions.assertEquals(127, LatencyHistogram.highestValueAt(127));
+    }
+
+    @Test
+    public void test_empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMin());
+        Assertions.assertEquals(0, histogram.getMax());
+        Assertions.assertEquals(0, histogram.getMean());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(Duration.ZERO, histogram.getPercentile(50));
+        Assertions.assertNotNull(histogram.toString());
+    }
+
+    @Test
+    public void test_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(Duration.ofMillis(i));
+        }
+        histogram.record(-5);
+
+        Assertions.assertEquals(1001, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMin());
+        Assertions.assertEquals(Duration.ofMillis(1000).toNanos(), histogram.getMax());
+        this.assertWithin(Duration.ofMillis(500).toNanos(), histogram.getValueAtPercentile(50));
+        this.assertWithin(Duration.ofMillis(950).toNanos(), histogram.getValueAtPercentile(95));
+        this.assertWithin(Duration.ofMillis(990).toNanos(), histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        Assertions.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(150));
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(-1));
+    }
+
+    @Test
+    public void test_add() {
+        LatencyHistogram a = new LatencyHistogram();
+        a.record(100);
+        LatencyHistogram b = new LatencyHistogram();
+        b.record(1000);
+        b.record(10000);
+
+        a.add(b);
+        a.add(new LatencyHistogram());
+        Assertions.assertEquals(3, a.getCount());
+        Assertions.assertEquals(100, a.getMin());
+        Assertions.assertEquals(10000, a.getMax());
+        Assertions.assertEquals(3700, a.getMean());
+    }
+
+    private void assertWithin(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(expected - actual) <= expected / 50, expected + " vs " + actual);
+    }
+}
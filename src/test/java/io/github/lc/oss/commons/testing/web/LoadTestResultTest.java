@@ -0,0 +1,40 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class LoadTestResultTest extends AbstractTest {
+    @Test
+    public void test_getters() {
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.record(Duration.ofMillis(10));
+        latency.record(Duration.ofMillis(20));
+
+        LoadTestResult result = new LoadTestResult(2, 4, 1, Duration.ofSeconds(2), latency, Arrays.asList("boom"));
+        Assertions.assertEquals(2, result.getUsers());
+        Assertions.assertEquals(4, result.getIterations());
+        Assertions.assertEquals(1, result.getErrors());
+        Assertions.assertEquals(0.25, result.getErrorRate());
+        Assertions.assertEquals(2.0, result.getThroughput());
+        Assertions.assertEquals(Duration.ofSeconds(2), result.getElapsed());
+        Assertions.assertSame(latency, result.getLatency());
+        Assertions.assertEquals(Duration.ofMillis(20), result.getMax());
+        Assertions.assertTrue(result.getP50().compareTo(result.getP95()) <= 0);
+        Assertions.assertTrue(result.getP95().compareTo(result.getP99()) <= 0);
+        Assertions.assertEquals(Arrays.asList("boom"), result.getErrorSamples());
+        Assertions.assertTrue(result.toString().startsWith("users=2, iterations=4, errors=1 (25.00%)"));
+    }
+
+    @Test
+    public void test_empty() {
+        LoadTestResult result = new LoadTestResult(1, 0, 0, Duration.ZERO, new LatencyHistogram(), null);
+        Assertions.assertEquals(0, result.getErrorRate());
+        Assertions.assertEquals(0, result.getThroughput());
+        Assertions.assertTrue(result.getErrorSamples().isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class LoadTestTest extends AbstractTest {
+    @Test
+    public void test_constructor_errors() {
+        try {
+            new LoadTest(0, 1, null, () -> {
+            });
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Users must be greater than 0 ==> expected: <true> but was: <false>", ex.getMessage());
+        }
+
+        try {
+            new LoadTest(1, 0, null, () -> {
+            });
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Iterations or duration is required ==> expected: <true> but was: <false>", ex.getMessage());
+        }
+
+        try {
+            new LoadTest(1, 1, null, null);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Scenario cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_run_iterations() {
+        AtomicInteger count = new AtomicInteger();
+
+        LoadTestResult result = new LoadTest(4, 25, null, () -> {
+            if (count.incrementAndGet() % 10 == 0) {
+                Assertions.fail("boom");
+            }
+        }).run();
+
+        Assertions.assertEquals(100, count.get());
+        Assertions.assertEquals(4, result.getUsers());
+        Assertions.assertEquals(100, result.getIterations());
+        Assertions.assertEquals(10, result.getErrors());
+        Assertions.assertEquals(0.1, result.getErrorRate());
+        Assertions.assertEquals(100, result.getLatency().getCount());
+        Assertions.assertEquals(10, result.getErrorSamples().size());
+        Assertions.assertEquals("AssertionFailedError: boom", result.getErrorSamples().get(0));
+    }
+
+    @Test
+    public void test_run_threads() {
+        ExecutorService probe = RestService.newVirtualThreadExecutor();
+        if (probe != null) {
+            probe.shutdown();
+        }
+
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        new LoadTest(3, 2, null, () -> names.add(Thread.currentThread().getName())).run();
+
+        if (probe != null) {
+            /* virtual threads are unnamed */
+            Assertions.assertEquals(Set.of(""), names);
+        } else {
+            Assertions.assertEquals(Set.of("LoadTest-user-1", "LoadTest-user-2", "LoadTest-user-3"), names);
+        }
+    }
+
+    @Test
+    public void test_run_timings() {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            new LoadTest(3, 4, null, () -> RequestTimings.current().record("GET", "/", 200, Duration.ofMillis(1),
+                    Duration.ofMillis(2))).run();
+        } finally {
+            timings.stop();
+        }
+
+        Assertions.assertEquals(12, timings.getSamples().size());
+        Assertions.assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void test_run_duration() {
+        AtomicInteger count = new AtomicInteger();
+
+        LoadTestResult result = new LoadTest(2, 0, Duration.ofMillis(50), () -> {
+            if (count.incrementAndGet() == 1) {
+                throw new IllegalStateException("first");
+            }
+        }).run();
+
+        Assertions.assertEquals(count.get(), result.getIterations());
+        Assertions.assertEquals(1, result.getErrors());
+        Assertions.assertTrue(result.getElapsed().toMillis() >= 50);
+        Assertions.assertTrue(result.getThroughput() > 0);
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.github.lc.oss.commons.testing.AbstractMockTest;
+
+public class RequestTimingsTest extends AbstractMockTest {
+    @Test
+    public void test_startStop_nested() {
+        Assertions.assertNull(RequestTimings.current());
+
+        RequestTimings outer = RequestTimings.start();
+        try {
+            Assertions.assertSame(outer, RequestTimings.current());
+            RequestTimings inner = RequestTimings.start();
+            Assertions.assertSame(inner, RequestTimings.current());
+            inner.record("GET", "/a", 200, Duration.ofMillis(1), Duration.ofMillis(2));
+            inner.stop();
+            /* only the active timings can stop */
+            inner.stop();
+            Assertions.assertSame(outer, RequestTimings.current());
+
+            outer.record("GET", "/b", 200, Duration.ofMillis(1), Duration.ofMillis(2));
+            Assertions.assertEquals(1, inner.getSamples().size());
+            Assertions.assertEquals(2, outer.getSamples().size());
+            Assertions.assertEquals("/a", outer.getSamples().get(0).getUrl());
+        } finally {
+            outer.stop();
+        }
+        Assertions.assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void test_propagate() {
+        Supplier<String> call = () -> "x";
+        Assertions.assertSame(call, RequestTimings.propagate(call));
+
+        RequestTimings timings = RequestTimings.start();
+        Supplier<RequestTimings> propagated;
+        try {
+            propagated = RequestTimings.propagate(RequestTimings::current);
+        } finally {
+            timings.stop();
+        }
+
+        Assertions.assertSame(timings, CompletableFuture.supplyAsync(propagated).join());
+        Assertions.assertSame(timings, propagated.get());
+        Assertions.assertNull(RequestTimings.current());
+
+        RequestTimings other = RequestTimings.start();
+        try {
+            Assertions.assertSame(timings, propagated.get());
+            Assertions.assertSame(other, RequestTimings.current());
+        } finally {
+            other.stop();
+        }
+    }
+
+    @Test
+    public void test_getPercentile() {
+        RequestTimings timings = new RequestTimings(null);
+        Assertions.assertEquals(Duration.ZERO, timings.getPercentile(95, false));
+
+        for (int i = 1; i <= 20; i++) {
+            timings.record("GET", "/" + i, 200, Duration.ofMillis(21 - i), Duration.ofMillis(i * 10));
+        }
+        Assertions.assertEquals(Duration.ofMillis(190), timings.getPercentile(95, false));
+        Assertions.assertEquals(Duration.ofMillis(200), timings.getPercentile(100, false));
+        Assertions.assertEquals(Duration.ofMillis(10), timings.getPercentile(0, false));
+        Assertions.assertEquals(Duration.ofMillis(19), timings.getPercentile(95, true));
+    }
+
+    @Test
+    public void test_maxSamples() {
+        RequestTimings timings = new RequestTimings(null);
+        for (int i = 1; i <= RequestTimings.MAX_SAMPLES * 2; i++) {
+            timings.record("GET", "/" + i, 200, Duration.ofMillis(1), Duration.ofMillis(i));
+        }
+        Assertions.assertEquals(RequestTimings.MAX_SAMPLES, timings.getSamples().size());
+        Assertions.assertEquals(RequestTimings.MAX_SAMPLES * 2, timings.getCount());
+        Assertions.assertEquals("/1", timings.getSamples().get(0).getUrl());
+
+        /* from the histogram, within 2% */
+        long p95 = timings.getPercentile(95, false).toMillis();
+        Assertions.assertTrue(p95 >= 1900 && p95 <= 1938, "p95 was " + p95);
+        Assertions.assertEquals(Duration.ofMillis(2000), timings.getPercentile(100, false));
+        Assertions.assertEquals(Duration.ofMillis(1), timings.getPercentile(50, true));
+
+        timings.assertWithin(Duration.ofMillis(2000), null, false);
+        try {
+            timings.assertWithin(Duration.ofMillis(1500), null, false);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Latency budget exceeded (response time): "
+                    + "GET /2000 took 2000.000ms (max 1500.000ms, slowest of 2000 calls)", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_assertWithin() {
+        RequestTimings timings = new RequestTimings(null);
+        timings.assertWithin(null, null, false);
+        try {
+            timings.assertWithin(null, Duration.ofMillis(1), false);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Latency budget declared but no REST calls were recorded", ex.getMessage());
+        }
+
+        timings.record("GET", "/fast", 200, Duration.ofMillis(5), Duration.ofMillis(10));
+        timings.record("POST", "/slow", 201, Duration.ofMillis(20), Duration.ofMillis(300));
+        timings.assertWithin(null, null, false);
+        timings.assertWithin(Duration.ofMillis(300), Duration.ofMillis(300), false);
+        timings.assertWithin(Duration.ofMillis(20), Duration.ofMillis(20), true);
+
+        try {
+            timings.assertWithin(Duration.ofMillis(100), null, false);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Latency budget exceeded (response time): POST /slow took 300.000ms (max 100.000ms)",
+                    ex.getMessage());
+        }
+
+        try {
+            timings.assertWithin(Duration.ofMillis(10), Duration.ofMillis(15), true);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Latency budget exceeded (time to first byte): "
+                    + "POST /slow took 20.000ms (max 10.000ms), p95 of 2 calls was 20.000ms (max 15.000ms)",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_interceptor() throws IOException {
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        ClientHttpRequestExecution execution = Mockito.mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+
+        Mockito.when(request.getURI()).thenReturn(URI.create("http://localhost/api/items"));
+        Mockito.when(request.getMethod()).thenReturn(HttpMethod.GET);
+        Mockito.when(execution.execute(ArgumentMatchers.same(request), ArgumentMatchers.any())).thenReturn(response);
+        Mockito.when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        Mockito.when(response.getBody()).thenReturn(new ByteArrayInputStream("{}".getBytes()));
+
+        /* not timing, nothing to wrap */
+        Assertions.assertSame(response, RequestTimings.getInterceptor().intercept(request, null, execution));
+
+        RequestTimings timings = RequestTimings.start();
+        ClientHttpResponse result;
+        try {
+            result = RequestTimings.getInterceptor().intercept(request, null, execution);
+        } finally {
+            timings.stop();
+        }
+        Assertions.assertNotSame(response, result);
+        Assertions.assertTrue(timings.getSamples().isEmpty());
+
+        Assertions.assertEquals('{', result.getBody().read());
+        result.close();
+        result.close();
+
+        List<RequestTimings.Sample> samples = timings.getSamples();
+        Assertions.assertEquals(1, samples.size());
+        RequestTimings.Sample sample = samples.get(0);
+        Assertions.assertEquals("GET", sample.getMethod());
+        Assertions.assertEquals("http://localhost/api/items", sample.getUrl());
+        Assertions.assertEquals(200, sample.getStatus());
+        Assertions.assertTrue(sample.getFirstByte().compareTo(sample.getTotal()) <= 0);
+        Assertions.assertTrue(sample.toString().startsWith("GET http://localhost/api/items (200): "));
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.github.lc.oss.commons.testing.AbstractMockTest;
+
+public class RestMetricsTest extends AbstractMockTest {
+    @Test
+    public void test_template() {
+        Assertions.assertEquals("", RestMetrics.template(null));
+        Assertions.assertEquals("/", RestMetrics.template(""));
+        Assertions.assertEquals("/", RestMetrics.template("http://localhost"));
+        Assertions.assertEquals("/", RestMetrics.template("http://localhost:8080/"));
+        Assertions.assertEquals("/api/users", RestMetrics.template("http://localhost/api/users?page=2"));
+        Assertions.assertEquals("/api/users/{id}", RestMetrics.template("https://localhost/api/users/42"));
+        Assertions.assertEquals("/api/users/{id}/roles/",
+                RestMetrics.template("http://localhost/api/users/7f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0/roles/"));
+        Assertions.assertEquals("/api/hash/{id}", RestMetrics.template("/api/hash/deadbeefcafebabe#x"));
+        Assertions.assertEquals("/api/feed/add-feed", RestMetrics.template("/api/feed/add-feed"));
+        Assertions.assertEquals("users/{id}", RestMetrics.template("users/1"));
+    }
+
+    @Test
+    public void test_record() {
+        RestMetrics metrics = new RestMetrics();
+        Assertions.assertEquals(0, metrics.getTotalCalls());
+        Assertions.assertNull(metrics.getEndpoint("GET", "/api/users/1"));
+
+        metrics.record("GET", "http://localhost/api/users/1", 200, Duration.ofMillis(5), 0, 100);
+        metrics.record("GET", "http://localhost/api/users/2", 404, Duration.ofMillis(1), 0, 10);
+        metrics.record("POST", "http://localhost/api/users", 201, Duration.ofMillis(50), 30, 20);
+        metrics.recordCsrfRetry("POST", "http://localhost/api/users");
+
+        Assertions.assertEquals(3, metrics.getTotalCalls());
+
+        RestMetrics.Endpoint get = metrics.getEndpoint("GET", "/api/users/99");
+        Assertions.assertEquals("GET", get.getMethod());
+        Assertions.assertEquals("/api/users/{id}", get.getTemplate());
+        Assertions.assertEquals(2, get.getCalls());
+        Assertions.assertEquals(0, get.getErrors());
+        Assertions.assertEquals(0, get.getRequestBytes());
+        Assertions.assertEquals(110, get.getResponseBytes());
+        Assertions.assertEquals(0, get.getCsrfRetries());
+        Assertions.assertEquals(1, get.getStatusCount(200));
+        Assertions.assertEquals(1, get.getStatusCount(404));
+        Assertions.assertEquals(0, get.getStatusCount(500));
+        Assertions.assertEquals(Duration.ofMillis(6).toNanos(), get.getLatency().getTotal());
+
+        List<RestMetrics.Endpoint> endpoints = metrics.getEndpoints();
+        Assertions.assertEquals(2, endpoints.size());
+        RestMetrics.Endpoint post = endpoints.get(0);
+        Assertions.assertEquals("POST", post.getMethod());
+        Assertions.assertEquals(1, post.getCsrfRetries());
+        Assertions.assertEquals(30, post.getRequestBytes());
+        Map<Integer, Long> statuses = post.getStatuses();
+        Assertions.assertEquals(1, statuses.size());
+        Assertions.assertEquals(Long.valueOf(1), statuses.get(201));
+
+        String summary = metrics.summary();
+        Assertions.assertTrue(summary.startsWith("REST metrics: 3 calls, 2 endpoints"));
+        Assertions.assertTrue(summary.indexOf("POST /api/users: calls=1, errors=0, csrfRetries=1, sent=30, received=20") < summary
+                .indexOf("GET /api/users/{id}: calls=2"));
+
+        Assertions.assertTrue(metrics.markReported());
+        Assertions.assertFalse(metrics.markReported());
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getTotalCalls());
+        Assertions.assertTrue(metrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void test_interceptor() throws IOException {
+        RestMetrics metrics = new RestMetrics();
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        ClientHttpRequestExecution execution = Mockito.mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+
+        Mockito.when(request.getURI()).thenReturn(URI.create("http://localhost/api/items/5"));
+        Mockito.when(request.getMethod()).thenReturn(HttpMethod.PUT);
+        Mockito.when(execution.execute(ArgumentMatchers.same(request), ArgumentMatchers.any())).thenReturn(response);
+        Mockito.when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        Mockito.when(response.getStatusText()).thenReturn("OK");
+        Mockito.when(response.getHeaders()).thenReturn(headers);
+        Mockito.when(response.getBody()).thenReturn(new ByteArrayInputStream("0123456789".getBytes()));
+
+        ClientHttpResponse result = metrics.getInterceptor().intercept(request, "body".getBytes(), execution);
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertEquals("OK", result.getStatusText());
+        Assertions.assertSame(headers, result.getHeaders());
+
+        InputStream body = result.getBody();
+        Assertions.assertSame(body, result.getBody());
+        Assertions.assertEquals('0', body.read());
+        byte[] buffer = new byte[20];
+        Assertions.assertEquals(9, body.read(buffer, 0, buffer.length));
+        Assertions.assertEquals(-1, body.read());
+        Assertions.assertEquals(-1, body.read(buffer, 0, buffer.length));
+
+        /* nothing recorded until the response is closed */
+        Assertions.assertEquals(0, metrics.getTotalCalls());
+        result.close();
+        result.close();
+        Mockito.verify(response, Mockito.times(1)).close();
+
+        RestMetrics.Endpoint endpoint = metrics.getEndpoint("PUT", "/api/items/1");
+        Assertions.assertEquals(1, endpoint.getCalls());
+        Assertions.assertEquals(4, endpoint.getRequestBytes());
+        Assertions.assertEquals(10, endpoint.getResponseBytes());
+        Assertions.assertEquals(1, endpoint.getStatusCount(200));
+    }
+
+    @Test
+    public void test_interceptor_noBody() throws IOException {
+        RestMetrics metrics = new RestMetrics();
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        ClientHttpRequestExecution execution = Mockito.mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+
+        Mockito.when(request.getURI()).thenReturn(null);
+        Mockito.when(request.getMethod()).thenReturn(HttpMethod.DELETE);
+        Mockito.when(execution.execute(ArgumentMatchers.same(request), ArgumentMatchers.any())).thenReturn(response);
+        Mockito.when(response.getStatusCode()).thenThrow(new IOException("boom"));
+
+        metrics.getInterceptor().intercept(request, null, execution).close();
+
+        RestMetrics.Endpoint endpoint = metrics.getEndpoints().get(0);
+        Assertions.assertEquals("", endpoint.getTemplate());
+        Assertions.assertEquals(1, endpoint.getCalls());
+        Assertions.assertEquals(0, endpoint.getRequestBytes());
+        Assertions.assertEquals(0, endpoint.getResponseBytes());
+        Assertions.assertEquals(1, endpoint.getStatusCount(0));
+    }
+
+    @Test
+    public void test_interceptor_error() throws IOException {
+        RestMetrics metrics = new RestMetrics();
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        ClientHttpRequestExecution execution = Mockito.mock(ClientHttpRequestExecution.class);
+
+        Mockito.when(request.getURI()).thenReturn(URI.create("http://localhost/api"));
+        Mockito.when(request.getMethod()).thenReturn(HttpMethod.GET);
+        Mockito.when(execution.execute(ArgumentMatchers.same(request), ArgumentMatchers.any()))
+                .thenThrow(new IOException("Connection refused"));
+
+        try {
+            metrics.getInterceptor().intercept(request, new byte[3], execution);
+            Assertions.fail("Expected exception");
+        } catch (IOException ex) {
+            Assertions.assertEquals("Connection refused", ex.getMessage());
+        }
+
+        RestMetrics.Endpoint endpoint = metrics.getEndpoint("GET", "http://localhost/api");
+        Assertions.assertEquals(1, endpoint.getCalls());
+        Assertions.assertEquals(1, endpoint.getErrors());
+        Assertions.assertEquals(3, endpoint.getRequestBytes());
+        Assertions.assertTrue(endpoint.getStatuses().isEmpty());
+        Assertions.assertTrue(endpoint.toString().startsWith("GET /api: calls=1, errors=1"));
+    }
+}
@@ -1,8 +1,23 @@
 package io.github.lc.oss.commons.testing.web;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +25,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.opentest4j.AssertionFailedError;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import io.github.lc.oss.commons.encoding.Encodings;
 import io.github.lc.oss.commons.testing.AbstractMockTest;
 import io.github.lc.oss.commons.web.tokens.CsrfTokenManager;
@@ -149,6 +171,42 @@ public class RestServiceTest extends AbstractMockTest {
         Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
     }
 
+    @Test
+    public void test_call_csrfMissing_metrics() {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        CsrfTokenManager csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("csrfTokenManager", csrfTokenManager, test);
+        this.setField("metricsEnabled", true, test);
+
+        Mockito.when(csrfTokenManager.getHeaderId()).thenReturn("X-CSRF");
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.add(HttpHeaders.SET_COOKIE, "X-CSRF=token-hash");
+
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), //
+                ArgumentMatchers.eq(HttpMethod.POST), //
+                ArgumentMatchers.argThat(req -> req.getHeaders().containsKey("X-CSRF") == false), //
+                ArgumentMatchers.eq(Object.class))). //
+                thenReturn(new ResponseEntity<>(null, responseHeaders, HttpStatus.FORBIDDEN));
+
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), //
+                ArgumentMatchers.eq(HttpMethod.POST), //
+                ArgumentMatchers.argThat(req -> req.getHeaders().containsKey("X-CSRF")), //
+                ArgumentMatchers.eq(Object.class))). //
+                thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+        test.call(HttpMethod.POST, "http://localhost/api/items/1", null, Object.class, null);
+        test.call(HttpMethod.POST, "http://localhost/api/items/2", null, Object.class, null);
+
+        Assertions.assertEquals(2, test.getMetrics().getEndpoint("POST", "/api/items/{id}").getCsrfRetries());
+    }
+
     @Test
     public void test_call_csrfMissing_wtihExtraHeaders() {
         RestTemplate template = Mockito.mock(RestTemplate.class);
@@ -466,6 +524,299 @@ public class RestServiceTest extends AbstractMockTest {
         }
     }
 
+    @Test
+    public void test_callJson_streaming() throws IOException {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("streamingJson", true, test);
+        Assertions.assertTrue(test.isStreamingJson());
+
+        ClientHttpResponse response = this.mockResponse(HttpStatus.OK, new HttpHeaders(), "{\"key\" : \"value\"}");
+        this.expectExecute(template, HttpMethod.POST, response);
+
+        ResponseEntity<JsonObject> result = test.callJson(HttpMethod.POST, "http://localhost", null, new HashMap<String, String>(),
+                HttpStatus.OK);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertEquals("value", result.getBody().getString("key"));
+    }
+
+    @Test
+    public void test_callJson_streaming_noContent() throws IOException {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("streamingJson", true, test);
+
+        ClientHttpResponse response = this.mockResponse(HttpStatus.NO_CONTENT, new HttpHeaders(), "");
+        this.expectExecute(template, HttpMethod.DELETE, response);
+
+        ResponseEntity<JsonObject> result = test.callJson(HttpMethod.DELETE, "http://localhost", null, null, HttpStatus.NO_CONTENT);
+        Assertions.assertNotNull(result);
+        Assertions.assertNull(result.getBody());
+    }
+
+    @Test
+    public void test_callJson_streaming_wrongStatus() throws IOException {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("streamingJson", true, test);
+
+        ClientHttpResponse response = this.mockResponse(HttpStatus.BAD_REQUEST, new HttpHeaders(), "{}");
+        this.expectExecute(template, HttpMethod.GET, response);
+
+        try {
+            test.callJson(HttpMethod.GET, "http://localhost", null, null, HttpStatus.OK);
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected: <200 OK> but was: <400 BAD_REQUEST>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_callJson_streaming_csrfRetry() throws IOException {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        CsrfTokenManager csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("streamingJson", true, test);
+        this.setField("csrfTokenManager", csrfTokenManager, test);
+
+        Mockito.when(csrfTokenManager.getHeaderId()).thenReturn("X-CSRF");
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.add(HttpHeaders.SET_COOKIE, "csrf=token");
+        responseHeaders.add(HttpHeaders.SET_COOKIE, "X-CSRF=token-hash");
+        ClientHttpResponse forbidden = this.mockResponse(HttpStatus.FORBIDDEN, responseHeaders, "");
+        ClientHttpResponse ok = this.mockResponse(HttpStatus.OK, new HttpHeaders(), "{\"key\" : \"value\"}");
+
+        Mockito.when(template.execute(ArgumentMatchers.any(URI.class), ArgumentMatchers.eq(HttpMethod.POST), ArgumentMatchers.any(),
+                ArgumentMatchers.<ResponseExtractor<ResponseEntity<JsonObject>>> any())). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(forbidden)). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(ok));
+
+        ResponseEntity<JsonObject> result = test.callJson(HttpMethod.POST, "http://localhost", null, "{}", HttpStatus.OK);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals("value", result.getBody().getString("key"));
+        Mockito.verify(template, Mockito.times(2)).httpEntityCallback(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_call_csrfCache() {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        CsrfTokenManager csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("csrfTokenManager", csrfTokenManager, test);
+        this.setField("csrfCache", true, test);
+        Assertions.assertTrue(test.isCsrfCache());
+
+        Mockito.when(csrfTokenManager.getHeaderId()).thenReturn("X-CSRF");
+
+        /* server issues token-1, then token-2 once token-1 is stale */
+        String[] valid = new String[] { "token-1" };
+        List<HttpHeaders> sent = new ArrayList<>();
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), //
+                ArgumentMatchers.eq(HttpMethod.POST), //
+                ArgumentMatchers.<HttpEntity<?>> any(), //
+                ArgumentMatchers.eq(Object.class))). //
+                thenAnswer(invocation -> {
+                    HttpHeaders headers = invocation.<HttpEntity<?>> getArgument(2).getHeaders();
+                    sent.add(headers);
+                    if (valid[0].equals(headers.getFirst("X-CSRF"))) {
+                        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                    }
+                    HttpHeaders responseHeaders = new HttpHeaders();
+                    responseHeaders.add(HttpHeaders.SET_COOKIE, "csrf=" + valid[0] + "-cookie; Path=/");
+                    responseHeaders.add(HttpHeaders.SET_COOKIE, "X-CSRF=" + valid[0]);
+                    return new ResponseEntity<>(null, responseHeaders, HttpStatus.FORBIDDEN);
+                });
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HttpHeaders.COOKIE, "session=abc");
+
+        /* first call - challenge and retry */
+        ResponseEntity<Object> result = test.call(HttpMethod.POST, "http://localhost/a", headers, Object.class, "{}");
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        Assertions.assertEquals(2, sent.size());
+
+        /* second call - token sent proactively, single exchange */
+        result = test.call(HttpMethod.POST, "http://LOCALHOST/b", headers, Object.class, "{}");
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        Assertions.assertEquals(3, sent.size());
+        Assertions.assertEquals("token-1", sent.get(2).getFirst("X-CSRF"));
+        Assertions.assertEquals("session=abc; csrf=token-1-cookie; X-CSRF=token-1",
+                sent.get(2).getFirst(HttpHeaders.COOKIE));
+
+        /* other origins are not affected */
+        test.call(HttpMethod.POST, "http://localhost:8080/b", null, Object.class, "{}");
+        Assertions.assertNull(sent.get(3).getFirst("X-CSRF"));
+        Assertions.assertEquals(5, sent.size());
+
+        /* stale token - evicted, challenged again and the new token is cached */
+        valid[0] = "token-2";
+        result = test.call(HttpMethod.POST, "http://localhost/c", headers, Object.class, "{}");
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        Assertions.assertEquals(8, sent.size());
+        Assertions.assertEquals("token-1", sent.get(5).getFirst("X-CSRF"));
+        Assertions.assertNull(sent.get(6).getFirst("X-CSRF"));
+        Assertions.assertEquals("token-2", sent.get(7).getFirst("X-CSRF"));
+
+        test.call(HttpMethod.POST, "http://localhost/d", null, Object.class, "{}");
+        Assertions.assertEquals(9, sent.size());
+        Assertions.assertEquals("token-2", sent.get(8).getFirst("X-CSRF"));
+
+        /* explicit token headers are left alone */
+        headers.put("X-CSRF", "mine");
+        test.call(HttpMethod.POST, "http://localhost/e", headers, Object.class, "{}");
+        Assertions.assertEquals("mine", sent.get(9).getFirst("X-CSRF"));
+        Assertions.assertEquals(10, sent.size());
+
+        test.clearCsrfCache();
+        test.call(HttpMethod.POST, "http://localhost/f", null, Object.class, "{}");
+        Assertions.assertNull(sent.get(10).getFirst("X-CSRF"));
+    }
+
+    @Test
+    public void test_withCachedCsrf_noCache() {
+        CsrfTokenManager csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        Map<String, String> headers = new HashMap<>();
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.add(HttpHeaders.SET_COOKIE, "X-CSRF=token");
+
+        Mockito.when(csrfTokenManager.getHeaderId()).thenReturn("X-CSRF");
+
+        /* disabled */
+        this.service.cacheCsrf("http://localhost", responseHeaders);
+        Assertions.assertSame(headers, this.service.withCachedCsrf("http://localhost", headers));
+
+        this.setField("csrfCache", true, this.service);
+        /* no token manager */
+        Assertions.assertSame(headers, this.service.withCachedCsrf("http://localhost", headers));
+
+        this.setField("csrfTokenManager", csrfTokenManager, this.service);
+        /* nothing usable to cache */
+        this.service.cacheCsrf(null, responseHeaders);
+        this.service.cacheCsrf("localhost", responseHeaders);
+        this.service.cacheCsrf("http://local host", responseHeaders);
+        this.service.cacheCsrf("http://localhost", new HttpHeaders());
+        HttpHeaders empty = new HttpHeaders();
+        empty.add(HttpHeaders.SET_COOKIE, "X-CSRF=");
+        this.service.cacheCsrf("http://localhost", empty);
+        Assertions.assertSame(headers, this.service.withCachedCsrf("http://localhost", headers));
+        Assertions.assertNull(this.service.withCachedCsrf("http://localhost", null));
+
+        this.service.cacheCsrf("http://localhost", responseHeaders);
+        Map<String, String> result = this.service.withCachedCsrf("http://localhost/x", null);
+        Assertions.assertEquals("token", result.get("X-CSRF"));
+        Assertions.assertEquals("X-CSRF=token", result.get(HttpHeaders.COOKIE));
+
+        this.service.evictCachedCsrf("http://local host");
+        this.service.evictCachedCsrf("http://localhost/y");
+        Assertions.assertNull(this.service.withCachedCsrf("http://localhost/x", null));
+    }
+
+    @Test
+    public void test_callJson_streaming_csrfCache() throws IOException {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        CsrfTokenManager csrfTokenManager = Mockito.mock(CsrfTokenManager.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+        this.setField("streamingJson", true, test);
+        this.setField("csrfCache", true, test);
+        this.setField("csrfTokenManager", csrfTokenManager, test);
+
+        Mockito.when(csrfTokenManager.getHeaderId()).thenReturn("X-CSRF");
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.add(HttpHeaders.SET_COOKIE, "X-CSRF=token-hash");
+        ClientHttpResponse forbidden = this.mockResponse(HttpStatus.FORBIDDEN, responseHeaders, "");
+        ClientHttpResponse ok = this.mockResponse(HttpStatus.OK, new HttpHeaders(), "{\"key\" : \"value\"}");
+        ClientHttpResponse ok2 = this.mockResponse(HttpStatus.OK, new HttpHeaders(), "{\"key\" : \"value\"}");
+
+        Mockito.when(template.execute(ArgumentMatchers.any(URI.class), ArgumentMatchers.eq(HttpMethod.POST), ArgumentMatchers.any(),
+                ArgumentMatchers.<ResponseExtractor<ResponseEntity<JsonObject>>> any())). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(forbidden)). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(ok2)). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(forbidden)). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(forbidden)). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(ok));
+
+        /* challenge, retry */
+        test.callJson(HttpMethod.POST, "http://localhost", null, "{}", HttpStatus.OK);
+        Assertions.assertNotNull(test.withCachedCsrf("http://localhost", null));
+
+        /* cached token rejected, evicted, challenged, retry */
+        ResponseEntity<JsonObject> result = test.callJson(HttpMethod.POST, "http://localhost", null, "{}",
+                HttpStatus.OK);
+        Assertions.assertEquals("value", result.getBody().getString("key"));
+        Mockito.verify(template, Mockito.times(5)).httpEntityCallback(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void test_callJson_streaming_badUrl() {
+        this.setField("streamingJson", true, this.service);
+
+        try {
+            this.service.callJson(HttpMethod.GET, "smb://", null, null, HttpStatus.OK);
+            Assertions.fail("Expected excpetion");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Invalid URL", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_readJson() {
+        JsonObject result = this.service.readJson(this.toStream("  {\"key\":\"value\"}"));
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals("value", result.getString("key"));
+
+        Assertions.assertNull(this.service.readJson(this.toStream("")));
+    }
+
+    @Test
+    public void test_readJson_errors() {
+        try {
+            this.service.readJson(this.toStream("[{\"key\" : \"value\"}]"));
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("JSON response is not a JSON object. Body is vulnerable to interception attacks.", ex.getMessage());
+        }
+
+        try {
+            this.service.readJson(this.toStream("{\"key\" : "));
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Unable to parse JSON", ex.getMessage());
+        }
+    }
+
     @Test
     public void test_getJson() {
         RestTemplate template = Mockito.mock(RestTemplate.class);
@@ -601,6 +952,97 @@ public class RestServiceTest extends AbstractMockTest {
         Assertions.assertNull(body);
     }
 
+    @Test
+    public void test_async() throws Exception {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.notNull(),
+                ArgumentMatchers.eq(String.class))).thenReturn(new ResponseEntity<>("{\"key\" : \"value\"}", HttpStatus.OK));
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), ArgumentMatchers.eq(HttpMethod.GET), ArgumentMatchers.notNull(),
+                ArgumentMatchers.eq(Object.class))).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+        List<CompletableFuture<ResponseEntity<JsonObject>>> futures = new ArrayList<>();
+        futures.add(test.getJsonAsync("http://localhost"));
+        futures.add(test.getJsonAsync("http://localhost", HttpStatus.OK));
+        futures.add(test.getJsonAsync("http://localhost", new HashMap<>()));
+        futures.add(test.getJsonAsync("http://localhost", null, HttpStatus.OK));
+        futures.add(test.postJsonAsync("http://localhost", "{}"));
+        futures.add(test.postJsonAsync("http://localhost", "{}", null));
+        futures.add(test.postJsonAsync("http://localhost", "{}", null, HttpStatus.OK));
+        futures.add(test.putJsonAsync("http://localhost", "{}", null, HttpStatus.OK));
+        futures.add(test.deleteJsonAsync("http://localhost", null, HttpStatus.OK));
+        futures.add(test.callJsonAsync(HttpMethod.PATCH, "http://localhost", null, null, HttpStatus.OK));
+
+        List<ResponseEntity<JsonObject>> results = test.awaitAll(futures);
+        Assertions.assertEquals(futures.size(), results.size());
+        for (ResponseEntity<JsonObject> result : results) {
+            Assertions.assertEquals("value", result.getBody().getString("key"));
+        }
+
+        ResponseEntity<Object> result = test.await(test.callAsync(HttpMethod.GET, "http://localhost", null, Object.class, null));
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+
+        ExecutorService executor = test.getAsyncExecutor();
+        Assertions.assertSame(executor, test.getAsyncExecutor());
+        test.destroy();
+        Assertions.assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    public void test_async_assertionFailure() {
+        RestTemplate template = Mockito.mock(RestTemplate.class);
+        RestService test = new RestService() {
+            @Override
+            public RestTemplate createRestTemplate() {
+                return template;
+            }
+        };
+
+        Mockito.when(template.exchange(ArgumentMatchers.notNull(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.notNull(),
+                ArgumentMatchers.eq(String.class))).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+        List<CompletableFuture<ResponseEntity<JsonObject>>> futures = new ArrayList<>();
+        futures.add(test.putJsonAsync("http://localhost", "{}"));
+        futures.add(test.putJsonAsync("http://localhost", "{}", null));
+        futures.add(test.deleteJsonAsync("http://localhost"));
+        futures.add(test.deleteJsonAsync("http://localhost", null));
+        Assertions.assertEquals(4, test.awaitAll(futures).size());
+
+        try {
+            test.await(test.getJsonAsync("http://localhost"));
+            Assertions.fail("Expected assertion failure");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("expected: <200 OK> but was: <204 NO_CONTENT>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_await_exceptions() {
+        CompletableFuture<Object> runtime = new CompletableFuture<>();
+        runtime.completeExceptionally(new IllegalStateException("boom"));
+        try {
+            this.service.await(runtime);
+            Assertions.fail("Expected exception");
+        } catch (IllegalStateException ex) {
+            Assertions.assertEquals("boom", ex.getMessage());
+        }
+
+        CompletableFuture<Object> checked = new CompletableFuture<>();
+        checked.completeExceptionally(new Exception("checked"));
+        try {
+            this.service.await(checked);
+            Assertions.fail("Expected exception");
+        } catch (CompletionException ex) {
+            Assertions.assertEquals("checked", ex.getCause().getMessage());
+        }
+    }
+
     @Test
     public void test_createRestTemplate() {
         RestService test = new RestService() {
@@ -617,6 +1059,56 @@ public class RestServiceTest extends AbstractMockTest {
         Assertions.assertNotNull(result);
     }
 
+    @Test
+    public void test_metrics() throws Exception {
+        RestService test = new RestService();
+        Assertions.assertFalse(test.isMetricsEnabled());
+        Assertions.assertNull(test.getMetrics());
+        Assertions.assertTrue(test.createRestTemplate().getInterceptors().isEmpty());
+
+        this.setField("metricsEnabled", true, test);
+        Assertions.assertTrue(test.isMetricsEnabled());
+        RestMetrics metrics = test.getMetrics();
+        Assertions.assertNotNull(metrics);
+        Assertions.assertSame(metrics, test.getMetrics());
+        Assertions.assertSame(metrics.getInterceptor(), test.createRestTemplate().getInterceptors().get(0));
+
+        metrics.record("GET", "http://localhost/api", 200, Duration.ofMillis(1), 0, 10);
+        Path report = Files.createTempFile("metrics", ".txt");
+        try {
+            this.setField("metricsReport", report.toString(), test);
+            Assertions.assertEquals(report.toString(), test.getMetricsReport());
+            test.destroy();
+            String summary = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+            Assertions.assertEquals(metrics.summary(), summary);
+
+            /* reported only once */
+            Files.delete(report);
+            test.destroy();
+            Assertions.assertFalse(Files.exists(report));
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    @Test
+    public void test_metrics_stdout() throws Exception {
+        RestService test = new RestService();
+        this.setField("metricsEnabled", true, test);
+        test.getMetrics();
+
+        PrintStream original = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            test.destroy();
+        } finally {
+            System.setOut(original);
+        }
+        Assertions.assertTrue(new String(out.toByteArray(), StandardCharsets.UTF_8)
+                .startsWith("REST metrics: 0 calls, 0 endpoints"));
+    }
+
     @Test
     public void test_createRestTemplate_nulls() {
         RestService test = new RestService() {
@@ -633,6 +1125,189 @@ public class RestServiceTest extends AbstractMockTest {
         Assertions.assertNotNull(result);
     }
 
+    @Test
+    public void test_createRestTemplate_timings() {
+        RestService test = new RestService() {
+            @Override
+            public ClientHttpRequestFactory createRequestFactory() {
+                return null;
+            }
+        };
+
+        Assertions.assertFalse(test.createRestTemplate().getInterceptors().contains(RequestTimings.getInterceptor()));
+
+        RequestTimings timings = RequestTimings.start();
+        try {
+            Assertions.assertTrue(test.createRestTemplate().getInterceptors().contains(RequestTimings.getInterceptor()));
+        } finally {
+            timings.stop();
+        }
+    }
+
+    private RestService latencyService(long totalMillis, List<HttpMethod> methods) {
+        return new RestService() {
+            @Override
+            public ResponseEntity<JsonObject> callJson(HttpMethod method, String url, Map<String, String> headers, Object body,
+                    HttpStatus expectedStatus) {
+                methods.add(method);
+                RequestTimings.current().record(method.name(), url, expectedStatus.value(), Duration.ofMillis(10),
+                        Duration.ofMillis(totalMillis));
+                return new ResponseEntity<>(new JsonObject(), expectedStatus);
+            }
+        };
+    }
+
+    @Test
+    public void test_latency() {
+        List<HttpMethod> methods = new ArrayList<>();
+        RestService test = this.latencyService(50, methods);
+        Assertions.assertFalse(test.isLatencyTimeToFirstByte());
+
+        Duration budget = Duration.ofMillis(100);
+        Assertions.assertEquals(HttpStatus.OK, test.getJson("http://localhost", budget).getStatusCode());
+        Assertions.assertEquals(HttpStatus.CREATED,
+                test.getJson("http://localhost", null, HttpStatus.CREATED, budget).getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK,
+                test.postJson("http://localhost", "{}", null, HttpStatus.OK, budget).getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK,
+                test.callJson(HttpMethod.PATCH, "http://localhost", null, null, HttpStatus.OK, budget).getStatusCode());
+        Assertions.assertEquals(Arrays.asList(HttpMethod.GET, HttpMethod.GET, HttpMethod.POST, HttpMethod.PATCH), methods);
+        Assertions.assertNull(RequestTimings.current());
+
+        try {
+            test.getJson("http://localhost", Duration.ofMillis(20));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Latency budget exceeded (response time): GET http://localhost took 50.000ms (max 20.000ms)",
+                    ex.getMessage());
+        }
+        Assertions.assertNull(RequestTimings.current());
+
+        try {
+            test.getJson("http://localhost", (Duration) null);
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("maxLatency cannot be null ==> expected: not <null>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_latency_timeToFirstByte() throws Exception {
+        RestService test = this.latencyService(50, new ArrayList<>());
+        this.setField("latencyTimeToFirstByte", true, test);
+        Assertions.assertTrue(test.isLatencyTimeToFirstByte());
+
+        Assertions.assertEquals(HttpStatus.OK, test.getJson("http://localhost", Duration.ofMillis(20)).getStatusCode());
+
+        try {
+            test.getJson("http://localhost", Duration.ofMillis(5));
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals(
+                    "Latency budget exceeded (time to first byte): GET http://localhost took 10.000ms (max 5.000ms)",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_latency_async() throws Exception {
+        RestService test = new RestService() {
+            @Override
+            public ResponseEntity<JsonObject> getJson(String url) {
+                RequestTimings.current().record("GET", url, 200, Duration.ofMillis(1), Duration.ofMillis(2));
+                return new ResponseEntity<>(HttpStatus.OK);
+            }
+        };
+
+        RequestTimings timings = RequestTimings.start();
+        try {
+            test.await(test.getJsonAsync("http://localhost"));
+        } finally {
+            timings.stop();
+        }
+        Assertions.assertEquals(1, timings.getSamples().size());
+        test.destroy();
+    }
+
+    @Test
+    public void test_getRequestFactory_notShared() throws Exception {
+        this.setField("sharedClient", false, this.service);
+        Assertions.assertFalse(this.service.isSharedClient());
+
+        ClientHttpRequestFactory result = this.service.getRequestFactory();
+        Assertions.assertNotNull(result);
+        Assertions.assertNotSame(result, this.service.getRequestFactory());
+    }
+
+    @Test
+    public void test_getRequestFactory_shared() throws Exception {
+        Assertions.assertTrue(this.service.isSharedClient());
+
+        ClientHttpRequestFactory result = this.service.getRequestFactory();
+        Assertions.assertNotNull(result);
+        Assertions.assertSame(result, this.service.getRequestFactory());
+
+        this.service.destroy();
+
+        ClientHttpRequestFactory result2 = this.service.getRequestFactory();
+        Assertions.assertNotNull(result2);
+        Assertions.assertNotSame(result, result2);
+
+        this.service.destroy();
+        this.service.destroy();
+    }
+
+    @Test
+    public void test_getRequestFactory_shared_nullFactory() throws Exception {
+        RestService test = new RestService() {
+            @Override
+            public ClientHttpRequestFactory createRequestFactory() {
+                return null;
+            }
+        };
+        this.setField("sharedClient", true, test);
+
+        Assertions.assertNull(test.getRequestFactory());
+        test.destroy();
+    }
+
+    @Test
+    public void test_getTransport() throws Exception {
+        Assertions.assertEquals(ApacheRestTransport.NAME, this.service.getTransportName());
+        Assertions.assertTrue(this.service.getTransport() instanceof ApacheRestTransport);
+        Assertions.assertSame(this.service.getTransport(), this.service.getTransport());
+
+        this.setField("transportName", " JDK ", this.service);
+        Assertions.assertTrue(this.service.getTransport() instanceof JdkRestTransport);
+        ClientHttpRequestFactory factory = this.service.createRequestFactory();
+        Assertions.assertTrue(factory instanceof JdkRestTransport.RequestFactory);
+        ((JdkRestTransport.RequestFactory) factory).destroy();
+
+        this.setField("transportName", null, this.service);
+        Assertions.assertTrue(this.service.getTransport() instanceof ApacheRestTransport);
+
+        this.setField("transportName", "junk", this.service);
+        try {
+            this.service.getTransport();
+            Assertions.fail("Expected exception");
+        } catch (AssertionFailedError ex) {
+            Assertions.assertEquals("Unknown REST transport: junk", ex.getMessage());
+        }
+
+        ClientHttpRequestFactory custom = Mockito.mock(ClientHttpRequestFactory.class);
+        RestTransport transport = s -> custom;
+        this.setField("transport", transport, this.service);
+        Assertions.assertSame(transport, this.service.getTransport());
+        Assertions.assertSame(custom, this.service.createRequestFactory());
+    }
+
+    @Test
+    public void test_poolDefaults() {
+        Assertions.assertEquals(RestService.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, this.service.getMaxConnectionsPerRoute());
+        Assertions.assertEquals(RestService.DEFAULT_MAX_CONNECTIONS_TOTAL, this.service.getMaxConnectionsTotal());
+    }
+
     @Test
     public void test_getTimeout() {
         Assertions.assertEquals(RestService.DEFAULT_TIMEOUT, this.service.getTimeout());
@@ -672,6 +1347,53 @@ public class RestServiceTest extends AbstractMockTest {
         Assertions.assertEquals("value", result.get("key"));
     }
 
+    @Test
+    public void test_fromJson_lazy() {
+        RestService test = new RestService();
+        Assertions.assertFalse(test.isLazyJson());
+        this.setField("lazyJson", true, test);
+        Assertions.assertTrue(test.isLazyJson());
+
+        JsonObject result = test.fromJson("{\"key\":\"value\",\"child\":{\"id\":1},\"list\":[{\"id\":2}]}");
+        Assertions.assertTrue(result.isLazy());
+        Assertions.assertEquals("value", result.getString("key"));
+        Assertions.assertEquals(1, result.getChild("child").getInt("id"));
+        List<JsonObject> list = result.getArray("list");
+        Assertions.assertEquals(2, list.get(0).getInt("id"));
+        Assertions.assertFalse(result.isLazy());
+
+        result = test.readJson(new ByteArrayInputStream("{\"child\":{\"id\":3}}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(result.isLazy());
+        Assertions.assertEquals(3, result.getChild("child").getInt("id"));
+    }
+
+    @Test
+    public void test_objectMapper_default() {
+        ObjectMapper mapper = this.service.getObjectMapper();
+        Assertions.assertNotNull(mapper);
+        Assertions.assertSame(mapper, new RestService().getObjectMapper());
+
+        ObjectReader reader = this.service.getJsonReader();
+        Assertions.assertNotNull(reader);
+        Assertions.assertSame(reader, this.service.getJsonReader());
+
+        ObjectWriter writer = this.service.getJsonWriter();
+        Assertions.assertNotNull(writer);
+        Assertions.assertSame(writer, this.service.getJsonWriter());
+    }
+
+    @Test
+    public void test_objectMapper_injected() {
+        ObjectMapper mapper = new ObjectMapper();
+        this.setField("objectMapper", mapper, this.service);
+
+        Assertions.assertSame(mapper, this.service.getObjectMapper());
+
+        JsonObject result = this.service.fromJson("{\"key\":\"value\"}");
+        Assertions.assertEquals("value", result.getString("key"));
+        Assertions.assertEquals("{\"key\":\"value\"}", this.service.toJson(result));
+    }
+
     @Test
     public void test_fromJson_error() {
         try {
@@ -681,4 +1403,22 @@ public class RestServiceTest extends AbstractMockTest {
             Assertions.assertEquals("Unable to parse JSON", ex.getMessage());
         }
     }
+
+    private InputStream toStream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClientHttpResponse mockResponse(HttpStatus status, HttpHeaders headers, String body) throws IOException {
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+        Mockito.lenient().when(response.getStatusCode()).thenReturn(status);
+        Mockito.lenient().when(response.getHeaders()).thenReturn(headers);
+        Mockito.lenient().when(response.getBody()).thenReturn(this.toStream(body));
+        return response;
+    }
+
+    private void expectExecute(RestTemplate template, HttpMethod method, ClientHttpResponse response) {
+        Mockito.when(template.execute(ArgumentMatchers.any(URI.class), ArgumentMatchers.eq(method), ArgumentMatchers.any(),
+                ArgumentMatchers.<ResponseExtractor<ResponseEntity<JsonObject>>> any())). //
+                thenAnswer(invocation -> invocation.<ResponseExtractor<?>> getArgument(3).extractData(response));
+    }
 }
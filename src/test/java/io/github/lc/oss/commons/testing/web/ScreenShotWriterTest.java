@@ -0,0 +1,125 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ScreenShotWriterTest extends AbstractTest {
+    private Path dir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("screenshots");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.list(this.dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(this.dir);
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private String path(String name) {
+        return this.dir.resolve(name).toString();
+    }
+
+    @Test
+    public void test_get() {
+        ScreenShotWriter writer = ScreenShotWriter.get("JPEG", 100);
+        Assertions.assertSame(writer, ScreenShotWriter.get("JPEG", 100));
+        Assertions.assertEquals("jpg", writer.getFormat());
+        Assertions.assertEquals("png", ScreenShotWriter.get(null, 0).getFormat());
+        Assertions.assertTrue(writer.flush(1000));
+    }
+
+    @Test
+    public void test_png() throws IOException {
+        ScreenShotWriter writer = new ScreenShotWriter("png", 0, 4);
+        writer.start();
+        byte[] img = new byte[] { 0x00 };
+
+        writer.submit(img, this.path("a"));
+        Assertions.assertTrue(writer.flush(5000));
+        Assertions.assertArrayEquals(img, Files.readAllBytes(this.dir.resolve("a.png")));
+    }
+
+    @Test
+    public void test_jpg_scaled() throws IOException {
+        ScreenShotWriter writer = new ScreenShotWriter("jpg", 50, 4);
+        writer.start();
+
+        writer.submit(this.png(200, 100), this.path("a"));
+        /* not an image, written as is */
+        writer.submit(new byte[] { 0x01 }, this.path("b"));
+        Assertions.assertTrue(writer.flush(5000));
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(Files.readAllBytes(this.dir.resolve("a.jpg"))));
+        Assertions.assertEquals(50, result.getWidth());
+        Assertions.assertEquals(25, result.getHeight());
+        Assertions.assertArrayEquals(new byte[] { 0x01 }, Files.readAllBytes(this.dir.resolve("b.png")));
+    }
+
+    @Test
+    public void test_png_scaled() throws IOException {
+        ScreenShotWriter writer = new ScreenShotWriter("png", 50, 4);
+
+        BufferedImage small = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        Assertions.assertSame(small, writer.scale(small));
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(writer.encode(writer.scale(
+                new BufferedImage(100, 10, BufferedImage.TYPE_INT_ARGB)))));
+        Assertions.assertEquals(50, result.getWidth());
+        Assertions.assertEquals(5, result.getHeight());
+    }
+
+    @Test
+    public void test_queueFull() throws IOException {
+        /* not started, the first screenshot stays queued */
+        ScreenShotWriter writer = new ScreenShotWriter("png", 0, 1);
+
+        writer.submit(new byte[] { 0x01 }, this.path("a"));
+        writer.submit(new byte[] { 0x02 }, this.path("b"));
+
+        Assertions.assertFalse(Files.exists(this.dir.resolve("a.png")));
+        Assertions.assertTrue(Files.exists(this.dir.resolve("b.png")));
+        Assertions.assertFalse(writer.flush(50));
+
+        writer.start();
+        Assertions.assertTrue(writer.flush(5000));
+        Assertions.assertTrue(Files.exists(this.dir.resolve("a.png")));
+    }
+
+    @Test
+    public void test_writeError() throws IOException {
+        ScreenShotWriter writer = new ScreenShotWriter("png", 0, 1);
+        writer.start();
+        Files.write(this.dir.resolve("file"), new byte[] { 0x00 });
+
+        /* parent is a file */
+        writer.submit(new byte[] { 0x01 }, this.path("file/a"));
+        Assertions.assertTrue(writer.flush(5000));
+    }
+}
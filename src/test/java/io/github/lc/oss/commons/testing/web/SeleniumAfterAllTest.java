@@ -0,0 +1,40 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class SeleniumAfterAllTest extends AbstractTest {
+    private SeleniumAfterAll saa = new SeleniumAfterAll();
+
+    @Test
+    public void test_afterAll() throws Exception {
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        WebDriver driver = Mockito.mock(WebDriver.class);
+
+        ChromiumSessions.acquire(ChromiumSessions.Scope.CLASS, this.getClass(), () -> driver);
+        Assertions.assertTrue(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, this.getClass()));
+
+        Mockito.when(context.getTestClass()).thenReturn(Optional.of(this.getClass()));
+
+        this.saa.afterAll(context);
+
+        Assertions.assertFalse(ChromiumSessions.isActive(ChromiumSessions.Scope.CLASS, this.getClass()));
+        Mockito.verify(driver).quit();
+    }
+
+    @Test
+    public void test_afterAll_noClass() throws Exception {
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+
+        Mockito.when(context.getTestClass()).thenReturn(Optional.empty());
+
+        this.saa.afterAll(context);
+    }
+}
@@ -91,4 +91,23 @@ public class SeleniumAfterEachTest extends AbstractTest {
         Assertions.assertTrue(driverQuit.wasCalled);
         Assertions.assertTrue(testScreen.wasCalled);
     }
+
+    @Test
+    public void test_afterEach_reusedSession() {
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        AbstractSeleniumTest test = Mockito.mock(AbstractSeleniumTest.class);
+        WebDriver driver = Mockito.mock(WebDriver.class);
+
+        Mockito.when(context.getTestInstance()).thenReturn(Optional.of(test));
+        Mockito.when(context.getExecutionException()).thenReturn(Optional.empty());
+        Mockito.when(test.isSessionReused()).thenReturn(true);
+
+        try {
+            this.sae.afterEach(context);
+        } catch (Exception e) {
+            Assertions.fail("Unexpected exception");
+        }
+        Mockito.verify(test).releaseDriver();
+        Mockito.verify(driver, Mockito.never()).quit();
+    }
 }
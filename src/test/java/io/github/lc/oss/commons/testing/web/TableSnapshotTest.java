@@ -0,0 +1,72 @@
+package io.github.lc.oss.commons.testing.web;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebElement;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class TableSnapshotTest extends AbstractTest {
+    private Map<String, Object> cell(String text, Map<String, String> attributes, WebElement element) {
+        Map<String, Object> cell = new HashMap<>();
+        cell.put("text", text);
+        cell.put("attributes", attributes);
+        cell.put("element", element);
+        return cell;
+    }
+
+    private Map<String, Object> row(Map<String, String> attributes, Object... cells) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("attributes", attributes);
+        row.put("cells", Arrays.asList(cells));
+        return row;
+    }
+
+    @Test
+    public void test_fromScript() {
+        WebElement element = Mockito.mock(WebElement.class);
+        List<Object> result = Arrays.asList( //
+                this.row(Collections.singletonMap("id", "r1"), //
+                        this.cell("a", Collections.singletonMap("class", "x"), element), //
+                        this.cell("b", null, null)), //
+                this.row(null, this.cell("c", null, null)));
+
+        TableSnapshot snapshot = TableSnapshot.fromScript(result);
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")), snapshot.getTexts());
+        Assertions.assertEquals("b", snapshot.getText(0, 1));
+
+        TableSnapshot.Row row = snapshot.getRow(0);
+        Assertions.assertEquals(2, row.size());
+        Assertions.assertEquals("r1", row.getAttribute("id"));
+        Assertions.assertEquals(1, row.getAttributes().size());
+        Assertions.assertEquals(2, row.getCells().size());
+
+        TableSnapshot.Cell cell = row.getCell(0);
+        Assertions.assertEquals("a", cell.getText());
+        Assertions.assertEquals("x", cell.getAttribute("class"));
+        Assertions.assertEquals(1, cell.getAttributes().size());
+        Assertions.assertSame(element, cell.getElement());
+
+        cell = row.getCell(1);
+        Assertions.assertNull(cell.getAttribute("class"));
+        Assertions.assertTrue(cell.getAttributes().isEmpty());
+        Assertions.assertNull(cell.getElement());
+
+        Assertions.assertTrue(snapshot.getRow(1).getAttributes().isEmpty());
+        Assertions.assertEquals(2, snapshot.getRows().size());
+    }
+
+    @Test
+    public void test_fromScript_empty() {
+        Assertions.assertEquals(0, TableSnapshot.fromScript(null).size());
+        Assertions.assertEquals(0, TableSnapshot.fromScript(Collections.emptyList()).size());
+    }
+}